@@ -0,0 +1,46 @@
+package benchmarks;
+
+/**
+ * One benchmark: an operation that is timed, and optional setup that isn't.
+ * The harness calls setup before every measured iteration, then calls op
+ * repeatedly with an increasing counter until the iteration time is up.
+ */
+public abstract class Benchmark {
+
+    /**
+     * the name shown in results, e.g. "WordleWordBank.wordExists"
+     */
+    private final String name;
+
+    /**
+     * creates a benchmark
+     *
+     * @param name the name shown in results
+     */
+    protected Benchmark(String name) {
+        this.name = name;
+    }
+
+    /**
+     * a getter for the benchmark's name
+     *
+     * @return the name shown in results
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * prepares state for the next iteration; not timed
+     */
+    public void setup() {
+    }
+
+    /**
+     * the operation being measured
+     *
+     * @param i a counter, handy for walking through fixture arrays
+     * @return any value computed, so the JIT can't throw the work away
+     */
+    public abstract long op(int i);
+}
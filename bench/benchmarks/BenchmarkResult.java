@@ -0,0 +1,100 @@
+package benchmarks;
+
+/**
+ * The measurements of one benchmark: throughput and allocation per operation.
+ */
+public class BenchmarkResult {
+
+    /**
+     * the benchmark's name
+     */
+    private final String name;
+
+    /**
+     * mean operations per second over the measured iterations
+     */
+    private final double opsPerSecond;
+
+    /**
+     * standard deviation of operations per second between iterations
+     */
+    private final double opsError;
+
+    /**
+     * bytes allocated per operation, or -1 if the JVM can't tell
+     */
+    private final double bytesPerOp;
+
+    /**
+     * creates a result
+     *
+     * @param name         the benchmark's name
+     * @param opsPerSecond mean throughput
+     * @param opsError     standard deviation of the throughput
+     * @param bytesPerOp   bytes allocated per operation, or -1 if unknown
+     */
+    public BenchmarkResult(String name, double opsPerSecond, double opsError,
+            double bytesPerOp) {
+        this.name = name;
+        this.opsPerSecond = opsPerSecond;
+        this.opsError = opsError;
+        this.bytesPerOp = bytesPerOp;
+    }
+
+    /**
+     * a getter for the benchmark's name
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * a getter for the throughput
+     *
+     * @return mean operations per second
+     */
+    public double getOpsPerSecond() {
+        return opsPerSecond;
+    }
+
+    /**
+     * a getter for the throughput's spread
+     *
+     * @return the standard deviation of operations per second
+     */
+    public double getOpsError() {
+        return opsError;
+    }
+
+    /**
+     * a getter for the allocation rate
+     *
+     * @return bytes allocated per operation, or -1 if unknown
+     */
+    public double getBytesPerOp() {
+        return bytesPerOp;
+    }
+
+    /**
+     * writes the result as one CSV line: name,ops/s,error,bytes/op
+     *
+     * @return the CSV line
+     */
+    public String toCsv() {
+        return name + "," + opsPerSecond + "," + opsError + "," + bytesPerOp;
+    }
+
+    /**
+     * reads a result back from a CSV line written by toCsv
+     *
+     * @param line the CSV line
+     * @return the result
+     */
+    public static BenchmarkResult fromCsv(String line) {
+        String[] fields = line.split(",");
+        return new BenchmarkResult(fields[0], Double.parseDouble(fields[1]),
+                Double.parseDouble(fields[2]), Double.parseDouble(fields[3]));
+    }
+}
@@ -0,0 +1,204 @@
+package benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs benchmarks the way JMH does in its default mode: a few warmup
+ * iterations that aren't counted, then measured iterations of a fixed length.
+ * Throughput is operations per second; allocation is read from the thread's
+ * allocated-bytes counter, the same source as JMH's GC profiler.
+ *
+ * Like JMH, each benchmark can be run in a fresh JVM with runForked, so the
+ * profiles the JIT gathered for one benchmark (such as a megamorphic call
+ * to Benchmark.op) can't slow down the next.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * what a forked JVM prints in front of its result
+     */
+    static final String RESULT_PREFIX = "RESULT,";
+
+    /**
+     * how many ops run between clock checks
+     */
+    private static final int BATCH = 64;
+
+    /**
+     * results of op are folded into this so the JIT can't skip the work
+     */
+    private static volatile long sink;
+
+    /**
+     * the number of warmup iterations
+     */
+    private final int warmupIterations;
+
+    /**
+     * the number of measured iterations
+     */
+    private final int measureIterations;
+
+    /**
+     * how long each iteration runs, in nanoseconds
+     */
+    private final long iterationNanos;
+
+    /**
+     * reads the thread's allocated bytes, or null if the JVM can't
+     */
+    private final com.sun.management.ThreadMXBean threads;
+
+    /**
+     * creates a runner
+     *
+     * @param warmupIterations  iterations to run before measuring
+     * @param measureIterations iterations to measure
+     * @param iterationMillis   how long each iteration runs
+     */
+    public BenchmarkRunner(int warmupIterations, int measureIterations,
+            long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000;
+
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            this.threads = (com.sun.management.ThreadMXBean) bean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            this.threads = null;
+        }
+    }
+
+    /**
+     * runs one benchmark
+     *
+     * @param benchmark the benchmark
+     * @return its throughput and allocation rate
+     */
+    public BenchmarkResult run(Benchmark benchmark) {
+        for (int i = 0; i < warmupIterations; i++) {
+            benchmark.setup();
+            iterate(benchmark);
+        }
+
+        double[] rates = new double[measureIterations];
+        long totalOps = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < measureIterations; i++) {
+            benchmark.setup();
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            long ops = iterate(benchmark);
+            long elapsed = System.nanoTime() - start;
+            totalBytes += allocatedBytes() - bytesBefore;
+            totalOps += ops;
+            rates[i] = ops * 1e9 / elapsed;
+        }
+
+        double mean = 0;
+        for (double rate : rates) {
+            mean += rate;
+        }
+        mean /= rates.length;
+        double variance = 0;
+        for (double rate : rates) {
+            variance += (rate - mean) * (rate - mean);
+        }
+        double error = rates.length > 1 ? Math.sqrt(variance / (rates.length - 1)) : 0;
+        double bytesPerOp = threads == null ? -1 : (double) totalBytes / totalOps;
+        return new BenchmarkResult(benchmark.getName(), mean, error, bytesPerOp);
+    }
+
+    /**
+     * runs one benchmark in a new JVM with the same class path and JVM
+     * options as this one. The main class must run the benchmark named
+     * after --fork and print the line from printResult.
+     *
+     * @param mainClass the class whose main method runs a single benchmark
+     * @param name      the benchmark's name
+     * @return its throughput and allocation rate
+     * @throws IOException if the JVM can't be started or gives no result
+     */
+    public BenchmarkResult runForked(Class<?> mainClass, String name) throws IOException {
+        List<String> command = new ArrayList<String>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(mainClass.getName());
+        command.add("--fork");
+        command.add(name);
+
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        BenchmarkResult result = null;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    result = BenchmarkResult.fromCsv(line.substring(RESULT_PREFIX.length()));
+                }
+            }
+        }
+        try {
+            process.waitFor();
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running " + name, e);
+        }
+        if (result == null) {
+            throw new IOException(name + " gave no result, exit code " + process.exitValue());
+        }
+        return result;
+    }
+
+    /**
+     * prints a result for runForked to read, from the forked JVM
+     *
+     * @param result the result
+     */
+    public static void printResult(BenchmarkResult result) {
+        System.out.println(RESULT_PREFIX + result.toCsv());
+    }
+
+    /**
+     * runs the operation in batches until the iteration time is up
+     *
+     * @param benchmark the benchmark
+     * @return how many operations ran
+     */
+    private long iterate(Benchmark benchmark) {
+        long deadline = System.nanoTime() + iterationNanos;
+        long sum = 0;
+        int i = 0;
+        do {
+            for (int b = 0; b < BATCH; b++) {
+                sum += benchmark.op(i++);
+            }
+        } while (System.nanoTime() < deadline);
+        sink += sum;
+        return i;
+    }
+
+    /**
+     * reads how many bytes this thread has allocated so far
+     *
+     * @return the allocated bytes, or 0 if the JVM can't tell
+     */
+    private long allocatedBytes() {
+        return threads == null ? 0 : threads.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,162 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import lexicon.Lexicon;
+import wordle.model.WordleWordBank;
+
+/**
+ * Inputs for the benchmarks, drawn from the bundled word lists with a fixed
+ * seed so every run measures exactly the same work.
+ */
+public final class Fixtures {
+
+    /**
+     * the seed every fixture is drawn with
+     */
+    public static final long SEED = 20240417L;
+
+    /**
+     * the number of entries in each fixture array; a power of two so
+     * benchmarks can index with (i & MASK)
+     */
+    public static final int SIZE = 1024;
+
+    /**
+     * SIZE - 1
+     */
+    public static final int MASK = SIZE - 1;
+
+    /**
+     * the Spelling Bee puzzle the benchmarks play, middle letter first
+     */
+    public static final String SPELLING_BEE_LETTERS = "ckethup";
+
+    /**
+     * Not meant to be instantiated
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Gets five-letter guesses: three quarters valid words in mixed case, the
+     * rest random letters that are almost never words
+     *
+     * @param bank the word bank to draw valid words from
+     * @return SIZE guesses
+     */
+    public static String[] wordleGuesses(WordleWordBank bank) {
+        Random random = new Random(SEED);
+        String[] all = bank.getAllWords();
+        String[] guesses = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            if (random.nextInt(4) == 0) {
+                guesses[i] = randomLetters(random, 5);
+            } else {
+                String word = all[random.nextInt(all.length)];
+                guesses[i] = random.nextBoolean() ? word : word.toLowerCase();
+            }
+        }
+        return guesses;
+    }
+
+    /**
+     * Gets valid guesses only, all in upper case
+     *
+     * @param bank the word bank to draw from
+     * @return SIZE valid five-letter words
+     */
+    public static String[] validWordleGuesses(WordleWordBank bank) {
+        Random random = new Random(SEED + 1);
+        String[] all = bank.getAllWords();
+        String[] guesses = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            guesses[i] = all[random.nextInt(all.length)];
+        }
+        return guesses;
+    }
+
+    /**
+     * Gets Spelling Bee submissions for SPELLING_BEE_LETTERS: half real
+     * answers, the rest a mix of short words, words missing the middle letter
+     * and words with letters outside the honeycomb
+     *
+     * @return SIZE submissions in lower case
+     */
+    public static String[] spellingBeeSubmissions() {
+        Random random = new Random(SEED + 2);
+        List<String> answers = spellingBeeAnswers();
+        String[] submissions = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            if (i % 2 == 0) {
+                submissions[i] = answers.get(random.nextInt(answers.size()));
+            } else {
+                submissions[i] = randomLetters(random, 3 + random.nextInt(6));
+            }
+        }
+        return submissions;
+    }
+
+    /**
+     * Gets every real answer to the SPELLING_BEE_LETTERS puzzle
+     *
+     * @return the answers
+     */
+    public static List<String> spellingBeeAnswers() {
+        int allowed = 0;
+        for (char c : SPELLING_BEE_LETTERS.toCharArray()) {
+            allowed |= 1 << (c - 'a');
+        }
+        int required = 1 << (SPELLING_BEE_LETTERS.charAt(0) - 'a');
+        try {
+            return new ArrayList<String>(Lexicon.get().getWordsWithin(allowed, required, 4));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets a sample of dictionary words of every length, as fed to
+     * checkAddWordForDictionary when a game starts
+     *
+     * @return SIZE words in lower case
+     */
+    public static String[] dictionaryWords() {
+        Random random = new Random(SEED + 3);
+        Lexicon lexicon;
+        try {
+            lexicon = Lexicon.get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String[] words = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            int length;
+            do {
+                length = 4 + random.nextInt(8);
+            } while (lexicon.getWords(length).size() == 0);
+            words[i] = lexicon.getWords(length).getWord(
+                    random.nextInt(lexicon.getWords(length).size()));
+        }
+        return words;
+    }
+
+    /**
+     * Makes a string of random lower case letters
+     *
+     * @param random the random generator
+     * @param length how many letters
+     * @return the letters
+     */
+    private static String randomLetters(Random random, int length) {
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,264 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lexicon.DictionaryFile;
+import spellingBee.model.SpellingBeeGame;
+import spellingBee.model.Word;
+import spellingBee.model.WordList;
+import spellingBee.view.WordListDisplay;
+import wordle.model.GuessResult;
+import wordle.model.PackedWords;
+import wordle.model.WordleEngine;
+import wordle.model.WordleWordBank;
+
+/**
+ * Benchmarks for the model hot paths of both games. Run from the project
+ * folder so the word lists can be found:
+ *
+ * <pre>
+ * java benchmarks.ModelBenchmarks [--csv results.csv] [--baseline old.csv] [--no-fork] [filter]
+ * </pre>
+ *
+ * Only benchmarks whose name contains the filter are run. --csv saves the
+ * results, and --baseline prints the change against a saved run. Each
+ * benchmark runs in its own JVM unless --no-fork is given, in which case
+ * they all share this one and earlier benchmarks can skew later ones.
+ */
+public class ModelBenchmarks {
+
+    /**
+     * Not meant to be instantiated
+     */
+    private ModelBenchmarks() {
+    }
+
+    /**
+     * Builds the list of benchmarks
+     *
+     * @return every model benchmark
+     */
+    public static List<Benchmark> all() {
+        WordleWordBank bank = new WordleWordBank();
+        String[] guesses = Fixtures.wordleGuesses(bank);
+        String[] validGuesses = Fixtures.validWordleGuesses(bank);
+        String[] submissions = Fixtures.spellingBeeSubmissions();
+        String[] dictionaryWords = Fixtures.dictionaryWords();
+        String answer = bank.getCommonWordAt(0);
+        List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+
+        benchmarks.add(new Benchmark("DictionaryFile.open") {
+            @Override
+            public long op(int i) {
+                try {
+                    return DictionaryFile.open().getWordCount(5);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+
+        // the lexicon is loaded once per JVM, so this measures building a
+        // bank over it; DictionaryFile.open measures the load itself
+        benchmarks.add(new Benchmark("WordleWordBank.<init> (cached lexicon)") {
+            @Override
+            public long op(int i) {
+                return new WordleWordBank().getAllWordList().size();
+            }
+        });
+
+        benchmarks.add(new Benchmark("WordleWordBank.wordExists") {
+            @Override
+            public long op(int i) {
+                return bank.wordExists(guesses[i & Fixtures.MASK]) ? 1 : 0;
+            }
+        });
+
+        benchmarks.add(new Benchmark("WordleWordBank.getRandomCommonWord") {
+            @Override
+            public long op(int i) {
+                return bank.getRandomCommonWord().length();
+            }
+        });
+
+        // WordleGame needs a live WordleGUI, so this drives the engine under it
+        benchmarks.add(new Benchmark("WordleEngine.submitGuess") {
+            private WordleEngine engine;
+
+            @Override
+            public void setup() {
+                engine = new WordleEngine(bank, PackedWords.encode(answer));
+            }
+
+            @Override
+            public long op(int i) {
+                if (engine.isGameOver()) {
+                    // starts a new game once the old one ends, like a real player
+                    engine = new WordleEngine(bank, PackedWords.encode(answer));
+                }
+                GuessResult result = engine.submitGuess(validGuesses[i & Fixtures.MASK]);
+                return result.getPattern() + result.getRemaining();
+            }
+        });
+
+        benchmarks.add(new Benchmark("SpellingBeeGame.initDictionary") {
+            @Override
+            public long op(int i) {
+                return new SpellingBeeGame(new WordListDisplay(),
+                        Fixtures.SPELLING_BEE_LETTERS).getStarterLetters().length();
+            }
+        });
+
+        benchmarks.add(new Benchmark("SpellingBeeGame.checkAddWord") {
+            private SpellingBeeGame game;
+
+            @Override
+            public void setup() {
+                game = new SpellingBeeGame(new WordListDisplay(),
+                        Fixtures.SPELLING_BEE_LETTERS);
+            }
+
+            @Override
+            public long op(int i) {
+                return game.checkAddWord(submissions[i & Fixtures.MASK]);
+            }
+        });
+
+        benchmarks.add(new Benchmark("SpellingBeeGame.checkAddWordForDictionary") {
+            private SpellingBeeGame game;
+
+            @Override
+            public void setup() {
+                game = new SpellingBeeGame(new WordListDisplay(),
+                        Fixtures.SPELLING_BEE_LETTERS);
+            }
+
+            @Override
+            public long op(int i) {
+                return game.checkAddWordForDictionary(
+                        dictionaryWords[i & Fixtures.MASK]) ? 1 : 0;
+            }
+        });
+
+        benchmarks.add(new Benchmark("WordList.contains") {
+            private final WordList list = new WordList(0);
+            private final Word[] probes = new Word[Fixtures.SIZE];
+
+            {
+                // half the probes are in the list and half are not
+                for (int i = 0; i < Fixtures.SIZE; i++) {
+                    if (i % 2 == 0) {
+                        list.add(new Word(dictionaryWords[i]));
+                    }
+                    probes[i] = new Word(dictionaryWords[i]);
+                }
+            }
+
+            @Override
+            public long op(int i) {
+                return list.contains(probes[i & Fixtures.MASK]) ? 1 : 0;
+            }
+        });
+
+        return benchmarks;
+    }
+
+    /**
+     * Runs the benchmarks and prints a table of results
+     *
+     * @param args see the class comment
+     * @throws IOException if a CSV file can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        Path csv = null;
+        Path baseline = null;
+        String filter = "";
+        boolean fork = true;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--fork")) {
+                // run in a JVM started by runForked
+                runOne(args[++i]);
+                return;
+            } else if (args[i].equals("--no-fork")) {
+                fork = false;
+            } else if (args[i].equals("--csv")) {
+                csv = Paths.get(args[++i]);
+            } else if (args[i].equals("--baseline")) {
+                baseline = Paths.get(args[++i]);
+            } else {
+                filter = args[i];
+            }
+        }
+
+        Map<String, BenchmarkResult> before = new HashMap<String, BenchmarkResult>();
+        if (baseline != null) {
+            for (String line : Files.readAllLines(baseline)) {
+                BenchmarkResult result = BenchmarkResult.fromCsv(line);
+                before.put(result.getName(), result);
+            }
+        }
+
+        // the games log to game.log from a background thread, so their
+        // logging is measured but never mixes with the results printed here
+        BenchmarkRunner runner = newRunner();
+        List<String> lines = new ArrayList<String>();
+        System.out.printf("%-45s %15s %12s %12s %9s%n", "Benchmark", "ops/s", "error",
+                "B/op", "change");
+        for (Benchmark benchmark : all()) {
+            if (!benchmark.getName().contains(filter)) {
+                continue;
+            }
+            BenchmarkResult result = fork
+                    ? runner.runForked(ModelBenchmarks.class, benchmark.getName())
+                    : runner.run(benchmark);
+            lines.add(result.toCsv());
+
+            String change = "";
+            BenchmarkResult old = before.get(result.getName());
+            if (old != null) {
+                change = String.format("%+.1f%%",
+                        (result.getOpsPerSecond() / old.getOpsPerSecond() - 1) * 100);
+            }
+            System.out.printf("%-45s %15.1f %12.1f %12.1f %9s%n", result.getName(),
+                    result.getOpsPerSecond(), result.getOpsError(),
+                    result.getBytesPerOp(), change);
+        }
+
+        if (csv != null) {
+            Files.write(csv, lines);
+        }
+    }
+
+    /**
+     * Makes the runner every benchmark is measured with
+     *
+     * @return three warmup and five measured iterations of half a second
+     */
+    private static BenchmarkRunner newRunner() {
+        return new BenchmarkRunner(3, 5, 500);
+    }
+
+    /**
+     * Runs a single benchmark and prints its result for the JVM that
+     * started this one
+     *
+     * @param name the benchmark's full name
+     */
+    private static void runOne(String name) {
+        for (Benchmark benchmark : all()) {
+            if (benchmark.getName().equals(name)) {
+                BenchmarkRunner.printResult(newRunner().run(benchmark));
+                return;
+            }
+        }
+        throw new IllegalArgumentException("No benchmark called " + name);
+    }
+}
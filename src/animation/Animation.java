@@ -0,0 +1,98 @@
+package animation;
+
+import java.awt.Rectangle;
+
+import javax.swing.JComponent;
+
+/**
+ * Something that changes over a fixed time, such as a tile flipping over.
+ * The AnimationScheduler works out how far along the animation is on each
+ * frame and calls update; the animation changes whatever its component
+ * paints, and the scheduler repaints just the animation's bounds.
+ *
+ * Progress comes from the clock, not from counting frames, so a slow frame
+ * makes the next one jump ahead instead of making the animation run long.
+ */
+public abstract class Animation {
+
+    /**
+     * the component the animation draws in
+     */
+    private final JComponent component;
+
+    /**
+     * the area of the component the animation changes
+     */
+    private final Rectangle bounds;
+
+    /**
+     * how long the animation waits before it starts moving
+     */
+    private final long delayNanos;
+
+    /**
+     * how long the animation runs once it starts moving
+     */
+    private final long durationNanos;
+
+    /**
+     * the System.nanoTime() the animation was scheduled at
+     */
+    long startNanos;
+
+    /**
+     * Creates an animation
+     *
+     * @param component      the component the animation draws in
+     * @param bounds         the area of the component the animation changes
+     * @param delayMillis    how long to wait before starting
+     * @param durationMillis how long the animation runs
+     */
+    protected Animation(JComponent component, Rectangle bounds,
+            long delayMillis, long durationMillis) {
+        this.component = component;
+        this.bounds = bounds;
+        this.delayNanos = delayMillis * 1_000_000L;
+        this.durationNanos = Math.max(1, durationMillis * 1_000_000L);
+    }
+
+    /**
+     * Moves the animation to a point in its run. Called on the event
+     * dispatch thread, and always called with 1 when the animation ends.
+     *
+     * @param progress from 0 at the start to 1 at the end
+     */
+    protected abstract void update(double progress);
+
+    /**
+     * Works out how far along the animation is
+     *
+     * @param nowNanos the current System.nanoTime()
+     * @return from 0 at the start to 1 at the end
+     */
+    double progressAt(long nowNanos) {
+        long elapsed = nowNanos - startNanos - delayNanos;
+        if (elapsed <= 0) {
+            return 0;
+        }
+        return Math.min(1.0, (double) elapsed / durationNanos);
+    }
+
+    /**
+     * Getter for the component
+     *
+     * @return the component the animation draws in
+     */
+    public JComponent getComponent() {
+        return component;
+    }
+
+    /**
+     * Getter for the bounds
+     *
+     * @return the area of the component the animation changes
+     */
+    public Rectangle getBounds() {
+        return bounds;
+    }
+}
@@ -0,0 +1,225 @@
+package animation;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import logging.Level;
+import logging.Logger;
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+
+/**
+ * Runs every animation in the program off one Swing timer. On each tick it
+ * moves every running animation to where the clock says it should be and
+ * repaints just the areas those animations cover. The timer only runs while
+ * something is animating.
+ *
+ * When a frame runs over its budget the ticks that should have happened in
+ * the meantime are not made up: the timer coalesces them, and the next
+ * frame jumps every animation straight to the current time. Those skipped
+ * frames are counted in the FrameStats.
+ *
+ * A frame's time is how long the tick takes to move the animations and ask
+ * for the repaints. The painting itself happens afterwards, when Swing gets
+ * to the repaint requests, and is timed by each component's paint timer
+ * instead. Every frame is recorded in the "animation.frame" timer and every
+ * skipped frame in the "animation.frames.dropped" counter, so both can be
+ * watched through JMX, and the FrameStats are logged at debug level each
+ * time the animations stop.
+ *
+ * All methods may be called from any thread; animations are always updated
+ * on the event dispatch thread.
+ */
+public class AnimationScheduler {
+
+    /**
+     * the time one frame should take at 60 frames a second
+     */
+    public static final int FRAME_MILLIS = 16;
+
+    /**
+     * the scheduler shared by every component
+     */
+    private static final AnimationScheduler SHARED = new AnimationScheduler(FRAME_MILLIS);
+
+    /**
+     * where the frame statistics are logged
+     */
+    private static final Logger LOG = Logger.get(AnimationScheduler.class);
+
+    /**
+     * the time each frame takes, and the frames skipped, in every scheduler
+     */
+    private static final Histogram FRAME_TIME = MetricsRegistry.timer("animation.frame");
+    private static final Counter DROPPED_FRAMES = MetricsRegistry.counter("animation.frames.dropped");
+
+    /**
+     * the timer that drives every animation
+     */
+    private final Timer timer;
+
+    /**
+     * the time a frame is allowed to take
+     */
+    private final long frameBudgetNanos;
+
+    /**
+     * the animations still running; only touched on the event dispatch
+     * thread
+     */
+    private final List<Animation> active = new ArrayList<Animation>();
+
+    /**
+     * when the last frame started, 0 if the timer is stopped
+     */
+    private long lastTickNanos = 0;
+
+    /**
+     * frame statistics, guarded by this
+     */
+    private long frames = 0;
+    private long droppedFrames = 0;
+    private long totalFrameNanos = 0;
+    private long maxFrameNanos = 0;
+    private long activeNanos = 0;
+
+    /**
+     * Creates a scheduler with its own timer
+     *
+     * @param frameMillis the time between frames
+     */
+    public AnimationScheduler(int frameMillis) {
+        this.frameBudgetNanos = frameMillis * 1_000_000L;
+        this.timer = new Timer(frameMillis, e -> tick());
+        timer.setCoalesce(true);
+    }
+
+    /**
+     * Gets the scheduler shared by every component
+     *
+     * @return the shared scheduler
+     */
+    public static AnimationScheduler getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Starts an animation. Its clock starts now, even if it has a delay.
+     *
+     * @param animation the animation to start
+     */
+    public void start(Animation animation) {
+        animation.startNanos = System.nanoTime();
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> add(animation));
+        } else {
+            add(animation);
+        }
+    }
+
+    /**
+     * Adds an animation to the running list and starts the timer if it was
+     * stopped
+     *
+     * @param animation the animation to add
+     */
+    private void add(Animation animation) {
+        active.add(animation);
+        animation.update(0);
+        repaint(animation);
+        if (!timer.isRunning()) {
+            lastTickNanos = 0;
+            timer.start();
+        }
+    }
+
+    /**
+     * Stops an animation early, jumping it to its end
+     *
+     * @param animation the animation to finish
+     */
+    public void finish(Animation animation) {
+        SwingUtilities.invokeLater(() -> {
+            if (active.remove(animation)) {
+                animation.update(1);
+                repaint(animation);
+            }
+        });
+    }
+
+    /**
+     * Moves every animation to the current time and repaints what moved
+     */
+    private void tick() {
+        long now = System.nanoTime();
+        if (lastTickNanos != 0) {
+            long gap = now - lastTickNanos;
+            synchronized (this) {
+                activeNanos += gap;
+                // a gap of more than one and a half frames means frames were skipped
+                if (gap > frameBudgetNanos * 3 / 2) {
+                    long dropped = gap / frameBudgetNanos - 1;
+                    droppedFrames += dropped;
+                    DROPPED_FRAMES.add(dropped);
+                }
+            }
+        }
+
+        for (int i = 0; i < active.size(); i++) {
+            Animation animation = active.get(i);
+            double progress = animation.progressAt(now);
+            animation.update(progress);
+            repaint(animation);
+            if (progress >= 1) {
+                active.remove(i--);
+            }
+        }
+
+        boolean stopped = active.isEmpty();
+        if (stopped) {
+            timer.stop();
+            lastTickNanos = 0;
+        } else {
+            lastTickNanos = now;
+        }
+
+        // only the update loop above; the repaints it asked for come later
+        long frameNanos = System.nanoTime() - now;
+        FRAME_TIME.record(frameNanos);
+        synchronized (this) {
+            frames++;
+            totalFrameNanos += frameNanos;
+            maxFrameNanos = Math.max(maxFrameNanos, frameNanos);
+        }
+        if (stopped && LOG.isEnabled(Level.DEBUG)) {
+            LOG.debug("Animations stopped: {}", getStats());
+        }
+    }
+
+    /**
+     * Repaints the area an animation covers
+     *
+     * @param animation the animation
+     */
+    private static void repaint(Animation animation) {
+        Rectangle bounds = animation.getBounds();
+        animation.getComponent().repaint(bounds.x, bounds.y, bounds.width,
+                bounds.height);
+    }
+
+    /**
+     * Gets how well the scheduler has kept up so far. Frame times cover
+     * updating the animations, not painting them.
+     *
+     * @return a snapshot of the frame statistics
+     */
+    public synchronized FrameStats getStats() {
+        return new FrameStats(frames, droppedFrames, totalFrameNanos,
+                maxFrameNanos, activeNanos);
+    }
+}
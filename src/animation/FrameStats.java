@@ -0,0 +1,113 @@
+package animation;
+
+/**
+ * How well the AnimationScheduler has kept up: how many frames it has run,
+ * how many it had to skip, and how long its frames took. A frame's time
+ * only covers moving the animations and asking for repaints; the painting
+ * happens later and isn't included.
+ */
+public class FrameStats {
+
+    /**
+     * the number of frames run
+     */
+    private final long frames;
+
+    /**
+     * the number of frames skipped because a frame ran late
+     */
+    private final long droppedFrames;
+
+    /**
+     * the total time spent updating animations
+     */
+    private final long totalFrameNanos;
+
+    /**
+     * the longest time spent updating animations in one frame
+     */
+    private final long maxFrameNanos;
+
+    /**
+     * the time between the first and the last frame of every run of the
+     * timer, added up
+     */
+    private final long activeNanos;
+
+    /**
+     * Creates a set of stats
+     *
+     * @param frames          the number of frames run
+     * @param droppedFrames   the number of frames skipped
+     * @param totalFrameNanos the total time spent updating animations
+     * @param maxFrameNanos   the longest single frame
+     * @param activeNanos     the time the timer was running
+     */
+    public FrameStats(long frames, long droppedFrames, long totalFrameNanos,
+            long maxFrameNanos, long activeNanos) {
+        this.frames = frames;
+        this.droppedFrames = droppedFrames;
+        this.totalFrameNanos = totalFrameNanos;
+        this.maxFrameNanos = maxFrameNanos;
+        this.activeNanos = activeNanos;
+    }
+
+    /**
+     * Getter for the frame count
+     *
+     * @return the number of frames run
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Getter for the dropped frame count
+     *
+     * @return the number of frames skipped because a frame ran late
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Works out the average time spent updating animations in a frame, not
+     * counting the painting
+     *
+     * @return the average frame time in milliseconds
+     */
+    public double getAverageFrameMillis() {
+        return frames == 0 ? 0 : totalFrameNanos / 1e6 / frames;
+    }
+
+    /**
+     * Getter for the longest frame
+     *
+     * @return the longest frame time in milliseconds
+     */
+    public double getMaxFrameMillis() {
+        return maxFrameNanos / 1e6;
+    }
+
+    /**
+     * Works out how many frames were run per second while animations were
+     * running
+     *
+     * @return the frame rate, 0 if nothing has run yet
+     */
+    public double getFramesPerSecond() {
+        return activeNanos == 0 ? 0 : frames * 1e9 / activeNanos;
+    }
+
+    /**
+     * Describes the stats in one line
+     *
+     * @return the stats as text
+     */
+    @Override
+    public String toString() {
+        return String.format("%d frames (%d dropped), %.1f fps, average %.2f ms, max %.2f ms",
+                frames, droppedFrames, getFramesPerSecond(),
+                getAverageFrameMillis(), getMaxFrameMillis());
+    }
+}
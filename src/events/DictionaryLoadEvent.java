@@ -0,0 +1,30 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded each time the shared dictionary is loaded, for as long as the
+ * load takes
+ */
+@Name("games.DictionaryLoad")
+@Label("Dictionary Load")
+@Category({ "Games", "Dictionary" })
+@Description("Loading the shared word dictionary")
+@StackTrace(false)
+public class DictionaryLoadEvent extends jdk.jfr.Event {
+
+    @Label("File")
+    @Description("The file the words were read from")
+    public String file;
+
+    @Label("Word Count")
+    public int wordCount;
+
+    @Label("Mapped")
+    @Description("True if the compiled binary was memory-mapped, false if the text lists were parsed")
+    public boolean mapped;
+}
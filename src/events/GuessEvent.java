@@ -0,0 +1,34 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded for each Wordle guess, for as long as checking and scoring it
+ * takes
+ */
+@Name("games.wordle.CheckGuess")
+@Label("Check Guess")
+@Category({ "Games", "Wordle" })
+@Description("Checking and scoring one Wordle guess")
+@StackTrace(false)
+public class GuessEvent extends jdk.jfr.Event {
+
+    @Label("Guess")
+    public String guess;
+
+    @Label("Status")
+    @Description("How the guess was handled, such as ACCEPTED or NOT_A_WORD")
+    public String status;
+
+    @Label("Pattern")
+    @Description("The tile colors, G for green, Y for yellow and - for gray; empty if the guess wasn't scored")
+    public String pattern;
+
+    @Label("Remaining")
+    @Description("How many answers still fit every guess")
+    public int remaining;
+}
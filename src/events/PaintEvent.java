@@ -0,0 +1,56 @@
+package events;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded each time a game component paints itself, for as long as the
+ * paint takes
+ */
+@Name("games.gui.Paint")
+@Label("Paint")
+@Category({ "Games", "GUI" })
+@Description("One paintComponent call of a game component")
+@StackTrace(false)
+public class PaintEvent extends jdk.jfr.Event {
+
+    @Label("Component")
+    public String component;
+
+    @Label("Clip Width")
+    public int clipWidth;
+
+    @Label("Clip Height")
+    public int clipHeight;
+
+    @Label("Clip Area")
+    @Description("How many pixels were repainted")
+    public long clipArea;
+
+    /**
+     * Ends the event and commits it if it is being recorded, filling in the
+     * fields only then
+     *
+     * @param component the name of the component that painted
+     * @param g         the graphics it painted with
+     */
+    public void finish(String component, Graphics g) {
+        end();
+        if (shouldCommit()) {
+            this.component = component;
+            Rectangle clip = g.getClipBounds();
+            if (clip != null) {
+                clipWidth = clip.width;
+                clipHeight = clip.height;
+                clipArea = (long) clip.width * clip.height;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded for each word entered in Spelling Bee while it is checked. A
+ * word submitted from the window is checked on the Spelling Bee worker, and
+ * the event ends there, before the word is added on the event dispatch
+ * thread
+ */
+@Name("games.spellingBee.CheckAddWord")
+@Label("Check Add Word")
+@Category({ "Games", "Spelling Bee" })
+@Description("Checking one Spelling Bee word and adding it to the found words")
+@StackTrace(false)
+public class WordCheckEvent extends jdk.jfr.Event {
+
+    @Label("Word")
+    public String word;
+
+    @Label("Result Code")
+    @Description("What checkAddWord returned: 0 added, 1 not in word list, 2 already found, 3 missing center letter, 4 too short, 5 invalid letters. A word checked on the worker is never 2; 0 means it passed the check")
+    public int resultCode;
+}
@@ -0,0 +1,273 @@
+package lexicon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Turns the plain text word lists into the binary format read by
+ * DictionaryFile. Run it with main after the word lists change, or let
+ * DictionaryFile call build directly when the binary file is missing or
+ * stale.
+ *
+ * The file is laid out as follows (all numbers big-endian):
+ * <pre>
+ * header    int magic, int version,
+ *           long englishSize, long englishModified,
+ *           long commonSize, long commonModified,
+ *           int sectionCount
+ * table     sectionCount x (int length, int count, long offset)
+ * sections  for each length, 8-byte aligned, in columns:
+ *           long[count * stride] packed words, 5 bits per letter,
+ *                                12 letters per long, first letter highest
+ *           int[count]           distinct-letter masks, bit 0 = 'a'
+ *           int[count]           rank in common_words.txt, -1 if not common
+ *           byte[count]          flags, see DictionaryFile.FLAG_*
+ * </pre>
+ * Words in a section are sorted alphabetically. Only words made entirely of
+ * the letters a-z are kept.
+ */
+public class DictionaryCompiler {
+
+    /**
+     * Not meant to be instantiated
+     */
+    private DictionaryCompiler() {
+    }
+
+    /**
+     * Compiles the word lists and writes the binary dictionary to disk
+     *
+     * @param englishWords the path of EnglishWords.txt
+     * @param commonWords  the path of common_words.txt
+     * @param output       where to write the binary dictionary
+     * @throws IOException if a word list can't be read or the output written
+     */
+    public static void compile(Path englishWords, Path commonWords, Path output)
+            throws IOException {
+        ByteBuffer data = build(englishWords, commonWords);
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        Files.write(temp, data.array());
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Compiles the word lists into an in-memory copy of the binary format
+     *
+     * @param englishWords the path of EnglishWords.txt
+     * @param commonWords  the path of common_words.txt
+     * @return a heap buffer holding the whole binary dictionary
+     * @throws IOException if a word list can't be read
+     */
+    public static ByteBuffer build(Path englishWords, Path commonWords)
+            throws IOException {
+        // reads the common list on another thread while this one reads the
+        // English list, so the slower file sets the time rather than both
+        CompletableFuture<List<String>> commonRead = CompletableFuture
+                .supplyAsync(() -> {
+                    try {
+                        return readWords(commonWords);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        List<String> english = readWords(englishWords);
+        List<String> common;
+        try {
+            common = commonRead.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+
+        // the first line each common word appears on is its rank
+        Map<String, Integer> ranks = new HashMap<String, Integer>();
+        for (int i = 0; i < common.size(); i++) {
+            ranks.putIfAbsent(common.get(i), i);
+        }
+
+        Map<String, Byte> flags = new HashMap<String, Byte>();
+        for (String word : english) {
+            flags.put(word, DictionaryFile.FLAG_ENGLISH);
+        }
+        for (String word : ranks.keySet()) {
+            byte old = flags.getOrDefault(word, (byte) 0);
+            flags.put(word, (byte) (old | DictionaryFile.FLAG_COMMON));
+        }
+
+        // groups the words by length, each group sorted alphabetically
+        TreeMap<Integer, List<String>> sections = new TreeMap<Integer, List<String>>();
+        for (String word : flags.keySet()) {
+            sections.computeIfAbsent(word.length(), k -> new ArrayList<String>())
+                    .add(word);
+        }
+        for (List<String> section : sections.values()) {
+            Collections.sort(section);
+        }
+
+        // works out where each section will go
+        int headerSize = DictionaryFile.HEADER_SIZE
+                + sections.size() * DictionaryFile.TABLE_ENTRY_SIZE;
+        long size = align(headerSize);
+        long[] offsets = new long[sections.size()];
+        int s = 0;
+        for (Map.Entry<Integer, List<String>> entry : sections.entrySet()) {
+            offsets[s++] = size;
+            size = align(size + DictionaryFile.sectionSize(entry.getKey(),
+                    entry.getValue().size()));
+        }
+
+        ByteBuffer out = ByteBuffer.allocate((int) size);
+        out.putInt(DictionaryFile.MAGIC);
+        out.putInt(DictionaryFile.VERSION);
+        putStamp(out, englishWords);
+        putStamp(out, commonWords);
+        out.putInt(sections.size());
+
+        s = 0;
+        for (Map.Entry<Integer, List<String>> entry : sections.entrySet()) {
+            out.putInt(entry.getKey());
+            out.putInt(entry.getValue().size());
+            out.putLong(offsets[s++]);
+        }
+
+        s = 0;
+        for (Map.Entry<Integer, List<String>> entry : sections.entrySet()) {
+            out.position((int) offsets[s++]);
+            List<String> words = entry.getValue();
+            for (String word : words) {
+                for (int start = 0; start < word.length();
+                        start += DictionaryFile.LETTERS_PER_LONG) {
+                    out.putLong(pack(word, start));
+                }
+            }
+            for (String word : words) {
+                out.putInt(DictionaryFile.letterMask(word));
+            }
+            for (String word : words) {
+                out.putInt(ranks.getOrDefault(word, DictionaryFile.NOT_COMMON));
+            }
+            for (String word : words) {
+                out.put(flags.get(word));
+            }
+        }
+        out.rewind();
+        return out;
+    }
+
+    /**
+     * Records the size and modification time of a source file so the loader
+     * can tell when the binary file is stale
+     *
+     * @param out  the buffer to write to
+     * @param file the source file
+     * @throws IOException if the file's attributes can't be read
+     */
+    private static void putStamp(ByteBuffer out, Path file) throws IOException {
+        long[] stamp = DictionaryFile.stamp(file);
+        out.putLong(stamp[0]);
+        out.putLong(stamp[1]);
+    }
+
+    /**
+     * Packs up to 12 letters of a word into a long, 5 bits per letter
+     *
+     * @param word  the word, a-z only
+     * @param start the first letter to pack
+     * @return the packed letters, first letter highest
+     */
+    private static long pack(String word, int start) {
+        int end = Math.min(word.length(), start + DictionaryFile.LETTERS_PER_LONG);
+        long packed = 0;
+        for (int i = start; i < end; i++) {
+            packed = (packed << 5) | (word.charAt(i) - 'a');
+        }
+        return packed;
+    }
+
+    /**
+     * Reads a word list, keeping only lines made of the letters a-z
+     *
+     * @param file the word list, one word per line
+     * @return the words in file order, in lower case
+     * @throws IOException if the file can't be read
+     */
+    private static List<String> readWords(Path file) throws IOException {
+        List<String> words = new ArrayList<String>();
+        // InputStreamReader replaces bad bytes rather than stopping early
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                Files.newInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String word = line.trim().toLowerCase(Locale.ROOT);
+                if (!word.isEmpty() && isLetters(word)) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Checks that a word is made only of the letters a-z
+     *
+     * @param word the word to check
+     * @return true if every character is from a to z
+     */
+    private static boolean isLetters(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rounds a file position up to the next multiple of 8
+     *
+     * @param position the position
+     * @return the aligned position
+     */
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * Compiles the bundled word lists into the binary dictionary
+     *
+     * @param args optionally the English word list, common word list and
+     *             output file, in that order
+     * @throws IOException if a file can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        Path english = Paths.get(args.length > 0 ? args[0] : DictionaryFile.ENGLISH_WORDS);
+        Path common = Paths.get(args.length > 1 ? args[1] : DictionaryFile.COMMON_WORDS);
+        Path output = Paths.get(args.length > 2 ? args[2] : DictionaryFile.BINARY_DICTIONARY);
+
+        long start = System.nanoTime();
+        compile(english, common, output);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Wrote " + output + " (" + Files.size(output)
+                + " bytes) in " + millis + " ms");
+    }
+}
@@ -0,0 +1,367 @@
+package lexicon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only view of the binary dictionary written by DictionaryCompiler.
+ * The file is memory-mapped, so opening it costs a few milliseconds and
+ * creates almost no garbage. When the file is missing, corrupt or older than
+ * the text word lists, the same layout is built in memory from the text
+ * files instead.
+ *
+ * Words are grouped into sections by length and looked up by (length, index).
+ */
+public class DictionaryFile {
+
+    /**
+     * the default name of the binary dictionary
+     */
+    public static final String BINARY_DICTIONARY = "dictionary.bin";
+
+    /**
+     * the default name of the full English word list
+     */
+    public static final String ENGLISH_WORDS = "EnglishWords.txt";
+
+    /**
+     * the default name of the common word list
+     */
+    public static final String COMMON_WORDS = "common_words.txt";
+
+    /**
+     * flag set on words that appear in EnglishWords.txt
+     */
+    public static final byte FLAG_ENGLISH = 1;
+
+    /**
+     * flag set on words that appear in common_words.txt
+     */
+    public static final byte FLAG_COMMON = 2;
+
+    /**
+     * the rank given to words that aren't in common_words.txt
+     */
+    public static final int NOT_COMMON = -1;
+
+    /**
+     * "LEXD", the first four bytes of every binary dictionary
+     */
+    static final int MAGIC = 0x4C455844;
+
+    /**
+     * bumped whenever the layout changes so old files are rebuilt
+     */
+    static final int VERSION = 1;
+
+    /**
+     * the size of the fixed header in bytes
+     */
+    static final int HEADER_SIZE = 4 + 4 + 8 * 4 + 4;
+
+    /**
+     * the size of one section table entry in bytes
+     */
+    static final int TABLE_ENTRY_SIZE = 4 + 4 + 8;
+
+    /**
+     * how many 5-bit letters fit in each long of a packed word
+     */
+    static final int LETTERS_PER_LONG = 12;
+
+    /**
+     * the dictionary data, mapped from disk or built in memory
+     */
+    private final ByteBuffer data;
+
+    /**
+     * true if the data was mapped from the binary file
+     */
+    private final boolean mapped;
+
+    /**
+     * the number of words of each length, indexed by length
+     */
+    private final int[] counts;
+
+    /**
+     * the byte offset of each length's section, indexed by length
+     */
+    private final long[] offsets;
+
+    /**
+     * Wraps dictionary data that has already been checked
+     *
+     * @param data   the dictionary data
+     * @param mapped whether the data came from the binary file
+     */
+    private DictionaryFile(ByteBuffer data, boolean mapped) {
+        this.data = data;
+        this.mapped = mapped;
+
+        int sectionCount = data.getInt(HEADER_SIZE - 4);
+        int maxLength = 0;
+        for (int s = 0; s < sectionCount; s++) {
+            maxLength = Math.max(maxLength,
+                    data.getInt(HEADER_SIZE + s * TABLE_ENTRY_SIZE));
+        }
+        this.counts = new int[maxLength + 1];
+        this.offsets = new long[maxLength + 1];
+        for (int s = 0; s < sectionCount; s++) {
+            int entry = HEADER_SIZE + s * TABLE_ENTRY_SIZE;
+            int length = data.getInt(entry);
+            counts[length] = data.getInt(entry + 4);
+            offsets[length] = data.getLong(entry + 8);
+        }
+    }
+
+    /**
+     * Opens the dictionary using the default file names in the working
+     * directory
+     *
+     * @return the dictionary
+     * @throws IOException if the binary file is unusable and the text word
+     *                     lists can't be read either
+     */
+    public static DictionaryFile open() throws IOException {
+        return open(Paths.get(BINARY_DICTIONARY), Paths.get(ENGLISH_WORDS),
+                Paths.get(COMMON_WORDS));
+    }
+
+    /**
+     * Opens the dictionary, mapping the binary file if it is up to date and
+     * falling back to the text word lists otherwise
+     *
+     * @param binary       the compiled dictionary
+     * @param englishWords the full English word list
+     * @param commonWords  the common word list
+     * @return the dictionary
+     * @throws IOException if the binary file is unusable and the text word
+     *                     lists can't be read either
+     */
+    public static DictionaryFile open(Path binary, Path englishWords,
+            Path commonWords) throws IOException {
+        if (Files.isReadable(binary)) {
+            try (FileChannel channel = FileChannel.open(binary,
+                    StandardOpenOption.READ)) {
+                MappedByteBuffer data = channel
+                        .map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (isCurrent(data, englishWords, commonWords)) {
+                    return new DictionaryFile(data, true);
+                }
+            } catch (IOException | RuntimeException e) {
+                // an unreadable binary is treated the same as a missing one
+            }
+        }
+        return new DictionaryFile(
+                DictionaryCompiler.build(englishWords, commonWords), false);
+    }
+
+    /**
+     * Checks the header of a binary dictionary against the text word lists
+     *
+     * @param data         the binary dictionary
+     * @param englishWords the full English word list
+     * @param commonWords  the common word list
+     * @return true if the binary can be used as it is
+     * @throws IOException if a word list's attributes can't be read
+     */
+    private static boolean isCurrent(ByteBuffer data, Path englishWords,
+            Path commonWords) throws IOException {
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC
+                || data.getInt(4) != VERSION) {
+            return false;
+        }
+        return matchesStamp(data, 8, englishWords)
+                && matchesStamp(data, 24, commonWords);
+    }
+
+    /**
+     * Compares the stamp recorded in the header with a source file. A source
+     * file that has gone missing doesn't make the binary stale.
+     *
+     * @param data   the binary dictionary
+     * @param at     where the stamp is in the header
+     * @param source the source file
+     * @return true if the stamp matches or the source is missing
+     * @throws IOException if the file's attributes can't be read
+     */
+    private static boolean matchesStamp(ByteBuffer data, int at, Path source)
+            throws IOException {
+        long[] stamp = stamp(source);
+        if (stamp[0] < 0) {
+            return true;
+        }
+        return data.getLong(at) == stamp[0] && data.getLong(at + 8) == stamp[1];
+    }
+
+    /**
+     * Gets the size and modification time of a file
+     *
+     * @param file the file
+     * @return {size, modified millis}, or {-1, -1} if the file doesn't exist
+     * @throws IOException if the file's attributes can't be read
+     */
+    static long[] stamp(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new long[] { -1, -1 };
+        }
+        return new long[] { Files.size(file),
+                Files.getLastModifiedTime(file).toMillis() };
+    }
+
+    /**
+     * Works out how many bytes a section takes up
+     *
+     * @param length the length of the words in the section
+     * @param count  the number of words in the section
+     * @return the section size in bytes
+     */
+    static long sectionSize(int length, int count) {
+        return (long) count * (stride(length) * 8L + 4 + 4 + 1);
+    }
+
+    /**
+     * Works out how many longs a packed word takes up
+     *
+     * @param length the length of the word
+     * @return the number of longs per word
+     */
+    static int stride(int length) {
+        return (length + LETTERS_PER_LONG - 1) / LETTERS_PER_LONG;
+    }
+
+    /**
+     * Builds the distinct-letter mask of a word
+     *
+     * @param word the word, a-z only
+     * @return a mask with bit 0 set for 'a' up to bit 25 for 'z'
+     */
+    public static int letterMask(CharSequence word) {
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            mask |= 1 << (word.charAt(i) - 'a');
+        }
+        return mask;
+    }
+
+    /**
+     * Checks whether the dictionary was mapped from the binary file
+     *
+     * @return true if mapped, false if it was built from the text files
+     */
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    /**
+     * Gets the length of the longest word
+     *
+     * @return the longest word length in the dictionary
+     */
+    public int getMaxLength() {
+        return counts.length - 1;
+    }
+
+    /**
+     * Gets the number of words of a certain length
+     *
+     * @param length the word length
+     * @return how many words have that length
+     */
+    public int getWordCount(int length) {
+        if (length < 0 || length >= counts.length) {
+            return 0;
+        }
+        return counts[length];
+    }
+
+    /**
+     * Gets one long of a packed word. Words of up to 12 letters fit in a
+     * single long, and a five-letter word's long is the same number as its
+     * wordle.model.PackedWords code.
+     *
+     * @param length the word length
+     * @param index  the index of the word in its section
+     * @param part   which long of the word, 0 for the first 12 letters
+     * @return the packed letters, first letter highest
+     */
+    public long getPackedWord(int length, int index, int part) {
+        int stride = stride(length);
+        return data.getLong((int) (offsets[length]
+                + ((long) index * stride + part) * 8));
+    }
+
+    /**
+     * Unpacks a word into a String
+     *
+     * @param length the word length
+     * @param index  the index of the word in its section
+     * @return the word in lower case
+     */
+    public String getWord(int length, int index) {
+        char[] letters = new char[length];
+        for (int part = 0; part < stride(length); part++) {
+            long packed = getPackedWord(length, index, part);
+            int start = part * LETTERS_PER_LONG;
+            int end = Math.min(length, start + LETTERS_PER_LONG);
+            for (int i = end - 1; i >= start; i--) {
+                letters[i] = (char) ('a' + (packed & 31));
+                packed >>>= 5;
+            }
+        }
+        return new String(letters);
+    }
+
+    /**
+     * Gets the precomputed distinct-letter mask of a word
+     *
+     * @param length the word length
+     * @param index  the index of the word in its section
+     * @return a mask with bit 0 set for 'a' up to bit 25 for 'z'
+     */
+    public int getLetterMask(int length, int index) {
+        return data.getInt(columnStart(length, 0) + index * 4);
+    }
+
+    /**
+     * Gets how common a word is
+     *
+     * @param length the word length
+     * @param index  the index of the word in its section
+     * @return the word's line in common_words.txt counting from 0, or
+     *         NOT_COMMON
+     */
+    public int getCommonRank(int length, int index) {
+        return data.getInt(columnStart(length, 1) + index * 4);
+    }
+
+    /**
+     * Gets the flags of a word
+     *
+     * @param length the word length
+     * @param index  the index of the word in its section
+     * @return FLAG_ENGLISH and/or FLAG_COMMON
+     */
+    public byte getFlags(int length, int index) {
+        return data.get(columnStart(length, 2) + index);
+    }
+
+    /**
+     * Finds where a column of a section starts
+     *
+     * @param length the word length
+     * @param column 0 for masks, 1 for ranks, 2 for flags
+     * @return the byte offset of the column
+     */
+    private int columnStart(int length, int column) {
+        long start = offsets[length] + (long) counts[length] * stride(length) * 8;
+        return (int) (start + (long) counts[length] * 4 * column);
+    }
+}
@@ -0,0 +1,116 @@
+package lexicon;
+
+/**
+ * A read-only view of all the dictionary words of one length, in alphabetical
+ * order. Views are shared between games and never change, so they are safe
+ * to use from any thread.
+ */
+public class LengthView {
+
+    /**
+     * the dictionary the words come from
+     */
+    private final DictionaryFile file;
+
+    /**
+     * the length of every word in the view
+     */
+    private final int length;
+
+    /**
+     * the number of words in the view
+     */
+    private final int size;
+
+    /**
+     * creates a view of one section of the dictionary
+     *
+     * @param file   the dictionary
+     * @param length the word length
+     */
+    LengthView(DictionaryFile file, int length) {
+        this.file = file;
+        this.length = length;
+        this.size = file.getWordCount(length);
+    }
+
+    /**
+     * a getter for the length of the words in the view
+     *
+     * @return the word length
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * a getter for the number of words in the view
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * unpacks a word into a String
+     *
+     * @param i the index of the word
+     * @return the word in lower case
+     */
+    public String getWord(int i) {
+        return file.getWord(length, i);
+    }
+
+    /**
+     * gets the first 12 letters of a word, packed 5 bits per letter. For
+     * five-letter words this is the same number as the PackedWords code.
+     *
+     * @param i the index of the word
+     * @return the packed word
+     */
+    public long getPackedWord(int i) {
+        return file.getPackedWord(length, i, 0);
+    }
+
+    /**
+     * gets the distinct-letter mask of a word
+     *
+     * @param i the index of the word
+     * @return a mask with bit 0 set for 'a' up to bit 25 for 'z'
+     */
+    public int getLetterMask(int i) {
+        return file.getLetterMask(length, i);
+    }
+
+    /**
+     * gets how common a word is
+     *
+     * @param i the index of the word
+     * @return the word's rank in common_words.txt, or
+     *         DictionaryFile.NOT_COMMON
+     */
+    public int getCommonRank(int i) {
+        return file.getCommonRank(length, i);
+    }
+
+    /**
+     * checks whether a word is in EnglishWords.txt
+     *
+     * @param i the index of the word
+     * @return true if the word is in the full English list
+     */
+    public boolean isEnglish(int i) {
+        return (file.getFlags(length, i) & DictionaryFile.FLAG_ENGLISH) != 0;
+    }
+
+    /**
+     * checks whether a word is in common_words.txt
+     *
+     * @param i the index of the word
+     * @return true if the word is in the common list
+     */
+    public boolean isCommon(int i) {
+        return (file.getFlags(length, i) & DictionaryFile.FLAG_COMMON) != 0;
+    }
+}
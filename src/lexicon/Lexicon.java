@@ -0,0 +1,151 @@
+package lexicon;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import events.DictionaryLoadEvent;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+
+/**
+ * The one dictionary shared by every Wordle and Spelling Bee game in the JVM.
+ * It is loaded the first time a game asks for it and never changes after
+ * that, so adding more games doesn't add more memory or startup time.
+ */
+public final class Lexicon {
+
+    /**
+     * the shared lexicon, null until the first call to get
+     */
+    private static volatile Lexicon instance;
+
+    /**
+     * how long loading the dictionary took
+     */
+    private static final Histogram LOAD_TIME = MetricsRegistry.timer("lexicon.load");
+
+    /**
+     * the dictionary the lexicon reads from
+     */
+    private final DictionaryFile file;
+
+    /**
+     * one view per word length, indexed by length
+     */
+    private final LengthView[] views;
+
+    /**
+     * builds a lexicon over a loaded dictionary
+     *
+     * @param file the dictionary
+     */
+    private Lexicon(DictionaryFile file) {
+        this.file = file;
+        this.views = new LengthView[file.getMaxLength() + 1];
+        for (int length = 0; length < views.length; length++) {
+            views[length] = new LengthView(file, length);
+        }
+    }
+
+    /**
+     * gets the shared lexicon, loading it on the first call. If loading
+     * fails, the next call tries again.
+     *
+     * @return the shared lexicon
+     * @throws IOException if the dictionary can't be loaded
+     */
+    public static Lexicon get() throws IOException {
+        Lexicon lexicon = instance;
+        if (lexicon == null) {
+            synchronized (Lexicon.class) {
+                lexicon = instance;
+                if (lexicon == null) {
+                    DictionaryLoadEvent event = new DictionaryLoadEvent();
+                    event.begin();
+                    long start = System.nanoTime();
+                    lexicon = new Lexicon(DictionaryFile.open());
+                    LOAD_TIME.recordSince(start);
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.mapped = lexicon.isMapped();
+                        event.file = event.mapped ? DictionaryFile.BINARY_DICTIONARY
+                                : DictionaryFile.ENGLISH_WORDS + ", " + DictionaryFile.COMMON_WORDS;
+                        event.wordCount = lexicon.getWordCount();
+                        event.commit();
+                    }
+                    instance = lexicon;
+                }
+            }
+        }
+        return lexicon;
+    }
+
+    /**
+     * checks whether the dictionary came from the compiled binary file
+     *
+     * @return true if it was memory-mapped, false if built from text
+     */
+    public boolean isMapped() {
+        return file.isMapped();
+    }
+
+    /**
+     * a getter for the number of words of every length
+     *
+     * @return the total word count
+     */
+    public int getWordCount() {
+        int count = 0;
+        for (LengthView view : views) {
+            count += view.size();
+        }
+        return count;
+    }
+
+    /**
+     * a getter for the length of the longest word
+     *
+     * @return the longest word length
+     */
+    public int getMaxLength() {
+        return views.length - 1;
+    }
+
+    /**
+     * gets all the words of one length
+     *
+     * @param length the word length
+     * @return a view of the words, empty if there are none of that length
+     */
+    public LengthView getWords(int length) {
+        if (length < 0 || length >= views.length) {
+            return new LengthView(file, 0);
+        }
+        return views[length];
+    }
+
+    /**
+     * finds the words made only of certain letters
+     *
+     * @param allowed   the letters the words may use, bit 0 = 'a'
+     * @param required  the letters every word must use
+     * @param minLength the shortest word to include
+     * @return the matching words, shortest first and then alphabetically
+     */
+    public List<String> getWordsWithin(int allowed, int required,
+            int minLength) {
+        List<String> words = new ArrayList<String>();
+        for (int length = Math.max(minLength, 1); length < views.length; length++) {
+            LengthView view = views[length];
+            for (int i = 0; i < view.size(); i++) {
+                int mask = view.getLetterMask(i);
+                if ((mask & ~allowed) == 0 && (mask & required) == required) {
+                    words.add(view.getWord(i));
+                }
+            }
+        }
+        return Collections.unmodifiableList(words);
+    }
+}
@@ -0,0 +1,35 @@
+package logging;
+
+import java.util.Locale;
+
+/**
+ * How important a log message is. A logger set to one level keeps messages
+ * at that level and above and drops the rest before any work is done on
+ * them.
+ */
+public enum Level {
+    TRACE, DEBUG, INFO, WARN, ERROR,
+
+    /**
+     * turns logging off; nothing is logged at this level
+     */
+    OFF;
+
+    /**
+     * Reads a level from its name, ignoring case
+     *
+     * @param name     the name, such as "debug"
+     * @param fallback the level to use if name is null or not a level
+     * @return the level
+     */
+    public static Level parse(String name, Level fallback) {
+        if (name == null) {
+            return fallback;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
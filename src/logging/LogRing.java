@@ -0,0 +1,176 @@
+package logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size ring of log records that any number of threads can add to and
+ * one thread drains, without locks. The slots are made once and reused, so
+ * logging a message allocates nothing beyond its arguments.
+ *
+ * Each slot has a sequence number that says whose turn it is: a writer may
+ * fill slot i when its sequence equals the position being claimed, and the
+ * reader may take it once the writer has moved the sequence one past that.
+ * Writers claim positions with a compare-and-set on the tail. When the ring
+ * is full a record is dropped and counted rather than making the caller
+ * wait.
+ */
+class LogRing {
+
+    /**
+     * One reusable record. Only the thread that owns the slot's current turn
+     * touches its fields.
+     */
+    static final class Slot {
+        long timeMillis;
+        Level level;
+        String logger;
+        String thread;
+        String template;
+        Object[] args;
+        Throwable thrown;
+    }
+
+    /**
+     * the records, a power of two long
+     */
+    private final Slot[] slots;
+
+    /**
+     * whose turn each slot is, see the class comment
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * slots.length - 1, to turn a position into an index
+     */
+    private final int mask;
+
+    /**
+     * the next position a writer will claim
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * the next position the reader will take; only the reader changes it
+     */
+    private volatile long head = 0;
+
+    /**
+     * how many records were dropped because the ring was full
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Creates an empty ring
+     *
+     * @param capacity the most records held at once, rounded up to a power
+     *                 of two
+     */
+    LogRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new Slot[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Adds a record, or drops it if the ring is full
+     *
+     * @param level    the message's level
+     * @param logger   the name of the logger
+     * @param template the message, with {} where each argument goes
+     * @param args     the arguments, formatted later by the reader
+     * @param thrown   an exception to print after the message, or null
+     * @return true if the record was added
+     */
+    boolean offer(Level level, String logger, String template, Object[] args,
+            Throwable thrown) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                // the reader hasn't emptied this slot since last time round
+                dropped.incrementAndGet();
+                return false;
+            }
+            // another writer claimed this position first; try the next one
+        }
+        Slot slot = slots[index];
+        slot.timeMillis = System.currentTimeMillis();
+        slot.level = level;
+        slot.logger = logger;
+        slot.thread = Thread.currentThread().getName();
+        slot.template = template;
+        slot.args = args;
+        slot.thrown = thrown;
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Takes the oldest record, if it is ready. Only one thread may call this.
+     *
+     * @param into a slot to copy the record into
+     * @return true if a record was copied, false if there was none ready
+     */
+    boolean poll(Slot into) {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return false;
+        }
+        Slot slot = slots[index];
+        into.timeMillis = slot.timeMillis;
+        into.level = slot.level;
+        into.logger = slot.logger;
+        into.thread = slot.thread;
+        into.template = slot.template;
+        into.args = slot.args;
+        into.thrown = slot.thrown;
+        // lets go of the arguments so they can be collected
+        slot.args = null;
+        slot.thrown = null;
+        sequences.set(index, position + slots.length);
+        head = position + 1;
+        return true;
+    }
+
+    /**
+     * Checks whether every record added so far has been taken
+     *
+     * @return true if the ring is empty
+     */
+    boolean isEmpty() {
+        return head == tail.get();
+    }
+
+    /**
+     * Gets how many records were dropped because the ring was full
+     *
+     * @return the number dropped
+     */
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets how many records the ring can hold
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return slots.length;
+    }
+}
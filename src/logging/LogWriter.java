@@ -0,0 +1,261 @@
+package logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The background thread that empties the log ring into the log file. The
+ * messages are only formatted here, so the thread that logged them never
+ * pays for building the text or writing it out. The file is flushed
+ * whenever the ring runs empty, and everything left is written out when
+ * the program exits.
+ *
+ * The file and ring size come from the system properties log.file (default
+ * game.log) and log.buffer (default 8192 records).
+ */
+final class LogWriter implements Runnable {
+
+    /**
+     * how long the thread sleeps when there is nothing to write
+     */
+    private static final long IDLE_NANOS = 10_000_000L;
+
+    /**
+     * the one writer for the program, started the first time anything is
+     * logged
+     */
+    private static volatile LogWriter instance;
+
+    /**
+     * the records waiting to be written
+     */
+    private final LogRing ring;
+
+    /**
+     * where the records go
+     */
+    private final Writer out;
+
+    /**
+     * set when the program is exiting
+     */
+    private volatile boolean stopping = false;
+
+    /**
+     * the thread running this writer
+     */
+    private final Thread thread;
+
+    /**
+     * the format for time stamps; only used by one thread at a time
+     */
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+
+    /**
+     * the last time stamp written, reused while records share a millisecond
+     */
+    private long stampMillis = -1;
+    private String stamp = "";
+
+    /**
+     * Opens the log file and starts the thread
+     *
+     * @param capacity the size of the ring
+     * @param file     the log file's name
+     */
+    private LogWriter(int capacity, String file) {
+        ring = new LogRing(capacity);
+        out = open(file);
+        thread = new Thread(this, "log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "log-writer-stop"));
+    }
+
+    /**
+     * Gets the program's writer, starting it if needed
+     *
+     * @return the writer
+     */
+    static LogWriter get() {
+        LogWriter writer = instance;
+        if (writer == null) {
+            synchronized (LogWriter.class) {
+                writer = instance;
+                if (writer == null) {
+                    writer = new LogWriter(Integer.getInteger("log.buffer", 8192),
+                            System.getProperty("log.file", "game.log"));
+                    instance = writer;
+                }
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * Opens the log file for appending, or standard error if it can't be
+     * opened
+     *
+     * @param file the file's name
+     * @return the writer
+     */
+    private static Writer open(String file) {
+        try {
+            return Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException | RuntimeException e) {
+            return new BufferedWriter(new OutputStreamWriter(System.err,
+                    StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Queues a record without waiting
+     *
+     * @param level    the message's level
+     * @param logger   the name of the logger
+     * @param template the message, with {} where each argument goes
+     * @param args     the arguments
+     * @param thrown   an exception to print after the message, or null
+     */
+    void offer(Level level, String logger, String template, Object[] args,
+            Throwable thrown) {
+        ring.offer(level, logger, template, args, thrown);
+    }
+
+    /**
+     * Gets how many records were lost because the ring was full
+     *
+     * @return the number dropped
+     */
+    long getDroppedCount() {
+        return ring.getDroppedCount();
+    }
+
+    /**
+     * Writes records as they come in until the program exits
+     */
+    @Override
+    public void run() {
+        LogRing.Slot record = new LogRing.Slot();
+        StringBuilder line = new StringBuilder(128);
+        boolean unflushed = false;
+        while (!stopping) {
+            if (ring.poll(record)) {
+                write(record, line);
+                unflushed = true;
+            } else {
+                if (unflushed) {
+                    flush();
+                    unflushed = false;
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Stops the thread and writes out whatever is left in the ring
+     */
+    private void stop() {
+        stopping = true;
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LogRing.Slot record = new LogRing.Slot();
+        StringBuilder line = new StringBuilder(128);
+        while (ring.poll(record)) {
+            write(record, line);
+        }
+        long dropped = ring.getDroppedCount();
+        if (dropped > 0) {
+            line.setLength(0);
+            line.append(dropped).append(" log records were dropped because the buffer was full")
+                    .append(System.lineSeparator());
+            try {
+                out.write(line.toString());
+            } catch (IOException e) {
+                // nowhere left to report it
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Formats one record and writes it
+     *
+     * @param record the record
+     * @param line   a reusable buffer
+     */
+    private void write(LogRing.Slot record, StringBuilder line) {
+        if (record.timeMillis != stampMillis) {
+            stampMillis = record.timeMillis;
+            stamp = timeFormat.format(new Date(stampMillis));
+        }
+        line.setLength(0);
+        line.append(stamp).append(' ')
+                .append(record.level).append(" [").append(record.thread).append("] ")
+                .append(record.logger).append(" - ");
+        format(line, record.template, record.args);
+        line.append(System.lineSeparator());
+        try {
+            out.write(line.toString());
+            if (record.thrown != null) {
+                PrintWriter trace = new PrintWriter(out);
+                record.thrown.printStackTrace(trace);
+                trace.flush();
+            }
+        } catch (IOException e) {
+            // a failed write loses the record; logging must not stop the game
+        }
+        record.args = null;
+        record.thrown = null;
+    }
+
+    /**
+     * Puts the arguments into a message in place of each {}
+     *
+     * @param line     where the message goes
+     * @param template the message
+     * @param args     the arguments, or null for none
+     */
+    static void format(StringBuilder line, String template, Object[] args) {
+        if (args == null || args.length == 0) {
+            line.append(template);
+            return;
+        }
+        int from = 0;
+        for (Object arg : args) {
+            int at = template.indexOf("{}", from);
+            if (at < 0) {
+                break;
+            }
+            line.append(template, from, at).append(arg);
+            from = at + 2;
+        }
+        line.append(template, from, template.length());
+    }
+
+    /**
+     * Flushes the file, ignoring errors
+     */
+    private void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            // the next flush will try again
+        }
+    }
+}
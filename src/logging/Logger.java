@@ -0,0 +1,231 @@
+package logging;
+
+/**
+ * A named source of log messages. Messages below the current level are
+ * dropped at the call before anything is formatted or allocated, and the
+ * rest are put in a ring buffer that a background thread writes to the log
+ * file, so logging never makes the caller wait on the disk.
+ *
+ * Messages use {} where each argument goes, and the arguments are only
+ * turned into text on the background thread, so they should not be changed
+ * after they are logged.
+ *
+ * The level starts at the system property log.level (default INFO) and can
+ * be changed while the program runs with setLevel.
+ */
+public final class Logger {
+
+    /**
+     * the lowest level that is logged, shared by every logger
+     */
+    private static volatile Level threshold = Level.parse(
+            System.getProperty("log.level"), Level.INFO);
+
+    /**
+     * the name written with every message
+     */
+    private final String name;
+
+    /**
+     * Creates a logger
+     *
+     * @param name the name written with every message
+     */
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets a logger named after a class
+     *
+     * @param type the class doing the logging
+     * @return the logger
+     */
+    public static Logger get(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    /**
+     * Sets the lowest level that is logged
+     *
+     * @param level the new level; OFF turns logging off
+     */
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    /**
+     * Gets the lowest level that is logged
+     *
+     * @return the level
+     */
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    /**
+     * Gets how many messages were lost because the background thread fell
+     * behind
+     *
+     * @return the number dropped
+     */
+    public static long getDroppedCount() {
+        return LogWriter.get().getDroppedCount();
+    }
+
+    /**
+     * Checks whether messages at a level are kept. Use this before building
+     * an argument that is costly to work out.
+     *
+     * @param level the level
+     * @return true if messages at that level are logged
+     */
+    public boolean isEnabled(Level level) {
+        return level != Level.OFF && level.compareTo(threshold) >= 0;
+    }
+
+    /**
+     * Logs a message with any number of arguments
+     *
+     * @param level    the message's level
+     * @param template the message, with {} where each argument goes
+     * @param args     the arguments
+     */
+    public void log(Level level, String template, Object... args) {
+        if (isEnabled(level)) {
+            LogWriter.get().offer(level, name, template, args, null);
+        }
+    }
+
+    /**
+     * Logs a message at TRACE
+     *
+     * @param message the message
+     */
+    public void trace(String message) {
+        if (isEnabled(Level.TRACE)) {
+            LogWriter.get().offer(Level.TRACE, name, message, null, null);
+        }
+    }
+
+    /**
+     * Logs a message with one argument at TRACE
+     *
+     * @param template the message, with {} where the argument goes
+     * @param arg      the argument
+     */
+    public void trace(String template, Object arg) {
+        if (isEnabled(Level.TRACE)) {
+            LogWriter.get().offer(Level.TRACE, name, template, new Object[] { arg }, null);
+        }
+    }
+
+    /**
+     * Logs a message with two arguments at TRACE
+     *
+     * @param template the message, with {} where each argument goes
+     * @param arg1     the first argument
+     * @param arg2     the second argument
+     */
+    public void trace(String template, Object arg1, Object arg2) {
+        if (isEnabled(Level.TRACE)) {
+            LogWriter.get().offer(Level.TRACE, name, template,
+                    new Object[] { arg1, arg2 }, null);
+        }
+    }
+
+    /**
+     * Logs a message at DEBUG
+     *
+     * @param message the message
+     */
+    public void debug(String message) {
+        if (isEnabled(Level.DEBUG)) {
+            LogWriter.get().offer(Level.DEBUG, name, message, null, null);
+        }
+    }
+
+    /**
+     * Logs a message with one argument at DEBUG
+     *
+     * @param template the message, with {} where the argument goes
+     * @param arg      the argument
+     */
+    public void debug(String template, Object arg) {
+        if (isEnabled(Level.DEBUG)) {
+            LogWriter.get().offer(Level.DEBUG, name, template, new Object[] { arg }, null);
+        }
+    }
+
+    /**
+     * Logs a message with two arguments at DEBUG
+     *
+     * @param template the message, with {} where each argument goes
+     * @param arg1     the first argument
+     * @param arg2     the second argument
+     */
+    public void debug(String template, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG)) {
+            LogWriter.get().offer(Level.DEBUG, name, template,
+                    new Object[] { arg1, arg2 }, null);
+        }
+    }
+
+    /**
+     * Logs a message at INFO
+     *
+     * @param message the message
+     */
+    public void info(String message) {
+        if (isEnabled(Level.INFO)) {
+            LogWriter.get().offer(Level.INFO, name, message, null, null);
+        }
+    }
+
+    /**
+     * Logs a message with one argument at INFO
+     *
+     * @param template the message, with {} where the argument goes
+     * @param arg      the argument
+     */
+    public void info(String template, Object arg) {
+        if (isEnabled(Level.INFO)) {
+            LogWriter.get().offer(Level.INFO, name, template, new Object[] { arg }, null);
+        }
+    }
+
+    /**
+     * Logs a message at WARN
+     *
+     * @param message the message
+     */
+    public void warn(String message) {
+        if (isEnabled(Level.WARN)) {
+            LogWriter.get().offer(Level.WARN, name, message, null, null);
+        }
+    }
+
+    /**
+     * Logs a message and the exception that caused it at WARN
+     *
+     * @param message the message
+     * @param thrown  the exception
+     */
+    public void warn(String message, Throwable thrown) {
+        if (isEnabled(Level.WARN)) {
+            LogWriter.get().offer(Level.WARN, name, message, null, thrown);
+        }
+    }
+
+    /**
+     * Logs a message and the exception that caused it at ERROR
+     *
+     * @param message the message
+     * @param thrown  the exception
+     */
+    public void error(String message, Throwable thrown) {
+        if (isEnabled(Level.ERROR)) {
+            LogWriter.get().offer(Level.ERROR, name, message, null, thrown);
+        }
+    }
+}
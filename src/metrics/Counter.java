@@ -0,0 +1,49 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count that many threads can add to at once. It is striped across cells
+ * the way LongAdder is, so threads adding at the same time don't fight over
+ * one memory location, and reading it adds the cells up.
+ */
+public class Counter implements CounterMBean {
+
+    /**
+     * the striped total
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Creates a counter at zero. Use MetricsRegistry.counter to get one that
+     * is shown through JMX.
+     */
+    public Counter() {
+    }
+
+    /**
+     * Adds one
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Adds an amount
+     *
+     * @param amount the amount to add
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,19 @@
+package metrics;
+
+/**
+ * What JMX shows of a Counter
+ */
+public interface CounterMBean {
+
+    /**
+     * Gets the count
+     *
+     * @return the total added so far
+     */
+    long getCount();
+
+    /**
+     * Sets the count back to zero
+     */
+    void reset();
+}
@@ -0,0 +1,220 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often values fall into a fixed set of buckets, so percentiles
+ * can be read at any time without keeping the values. Recording a value is
+ * a few shifts and one striped add, with no locks and no allocation.
+ *
+ * The buckets are log-linear: every power of two is split into eight equal
+ * buckets, so a percentile is never off by more than an eighth of its
+ * value, and 488 buckets cover every non-negative long.
+ */
+public class Histogram implements HistogramMBean {
+
+    /**
+     * how many buckets each power of two is split into, as a power of two
+     */
+    private static final int SUB_BITS = 3;
+
+    /**
+     * how many buckets each power of two is split into
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * enough buckets for every non-negative long
+     */
+    static final int BUCKET_COUNT = (63 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    /**
+     * how many values fell in each bucket
+     */
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    /**
+     * the total of every value, for the mean
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * the largest value
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * the unit values are shown in
+     */
+    private final String unit;
+
+    /**
+     * what recorded values are divided by to show them in the unit
+     */
+    private final double scale;
+
+    /**
+     * Creates an empty histogram. Use MetricsRegistry.histogram or
+     * MetricsRegistry.timer to get one that is shown through JMX.
+     *
+     * @param unit  the unit values are shown in
+     * @param scale what recorded values are divided by to show them
+     */
+    public Histogram(String unit, double scale) {
+        this.unit = unit;
+        this.scale = scale;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value
+     *
+     * @param value the value; negative values count as 0
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets[bucketOf(value)].increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Records the time since an earlier call to System.nanoTime
+     *
+     * @param startNanos what System.nanoTime returned at the start
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Works out which bucket a value goes in
+     *
+     * @param value a non-negative value
+     * @return the bucket
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int power = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (power - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (power - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Gets the largest value that goes in a bucket
+     *
+     * @param bucket the bucket
+     * @return its upper bound
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int power = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + sub) << (power - SUB_BITS);
+        return lower + (1L << (power - SUB_BITS)) - 1;
+    }
+
+    /**
+     * Works out a percentile from the buckets. The answer is the top of the
+     * bucket the percentile falls in, but never more than the largest value
+     * seen.
+     *
+     * @param percent the percentile, from 0 to 100
+     * @return the value in recorded units, 0 if nothing has been recorded
+     */
+    public long percentile(double percent) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percent / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public String getUnit() {
+        return unit;
+    }
+
+    @Override
+    public long getCount() {
+        long total = 0;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : sum.sum() / (double) count / scale;
+    }
+
+    @Override
+    public double getMax() {
+        return max.get() / scale;
+    }
+
+    @Override
+    public double get50thPercentile() {
+        return percentile(50) / scale;
+    }
+
+    @Override
+    public double get90thPercentile() {
+        return percentile(90) / scale;
+    }
+
+    @Override
+    public double get99thPercentile() {
+        return percentile(99) / scale;
+    }
+
+    @Override
+    public double get999thPercentile() {
+        return percentile(99.9) / scale;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Sums the histogram up on one line
+     *
+     * @return the count, mean, p50, p99 and max
+     */
+    @Override
+    public String toString() {
+        return String.format("count %d, mean %.2f%s, p50 %.2f%s, p99 %.2f%s, max %.2f%s",
+                getCount(), getMean(), unit, get50thPercentile(), unit,
+                get99thPercentile(), unit, getMax(), unit);
+    }
+}
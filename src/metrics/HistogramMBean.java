@@ -0,0 +1,69 @@
+package metrics;
+
+/**
+ * What JMX shows of a Histogram. Values are in the histogram's unit, so
+ * microseconds for a timer.
+ */
+public interface HistogramMBean {
+
+    /**
+     * Gets the unit the values are shown in
+     *
+     * @return "us" for a timer, or an empty string for plain values
+     */
+    String getUnit();
+
+    /**
+     * Gets how many values have been recorded
+     *
+     * @return the count
+     */
+    long getCount();
+
+    /**
+     * Gets the average value
+     *
+     * @return the mean, 0 if nothing has been recorded
+     */
+    double getMean();
+
+    /**
+     * Gets the largest value
+     *
+     * @return the maximum
+     */
+    double getMax();
+
+    /**
+     * Gets the value half of the recorded values are at or below
+     *
+     * @return the median
+     */
+    double get50thPercentile();
+
+    /**
+     * Gets the value 90% of the recorded values are at or below
+     *
+     * @return the 90th percentile
+     */
+    double get90thPercentile();
+
+    /**
+     * Gets the value 99% of the recorded values are at or below
+     *
+     * @return the 99th percentile
+     */
+    double get99thPercentile();
+
+    /**
+     * Gets the value 99.9% of the recorded values are at or below
+     *
+     * @return the 99.9th percentile
+     */
+    double get999thPercentile();
+
+    /**
+     * Forgets every recorded value
+     */
+    void reset();
+}
@@ -0,0 +1,111 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import logging.Logger;
+
+/**
+ * Every counter and histogram in the program, by name. Each one is
+ * registered with the platform MBean server the first time it is asked
+ * for, so jconsole, VisualVM or any other JMX client can watch it while
+ * the games run, under the domain "games".
+ *
+ * Hot paths should look their metrics up once and keep them in a static
+ * field, so recording never touches the registry.
+ */
+public final class MetricsRegistry {
+
+    /**
+     * the JMX domain every metric is registered under
+     */
+    public static final String DOMAIN = "games";
+
+    /**
+     * where registration problems are reported
+     */
+    private static final Logger LOG = Logger.get(MetricsRegistry.class);
+
+    /**
+     * every metric made so far, by name
+     */
+    private static final Map<String, Object> metrics = new ConcurrentHashMap<String, Object>();
+
+    /**
+     * Not meant to be instantiated
+     */
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Gets a counter, making and registering it the first time
+     *
+     * @param name the counter's name, such as "wordle.guesses"
+     * @return the counter
+     */
+    public static Counter counter(String name) {
+        return (Counter) metrics.computeIfAbsent(name, key -> register(key, "Counter", new Counter()));
+    }
+
+    /**
+     * Gets a histogram of times, making and registering it the first time.
+     * Record nanoseconds; they are shown through JMX in microseconds.
+     *
+     * @param name the timer's name, such as "wordle.checkGuess"
+     * @return the histogram
+     */
+    public static Histogram timer(String name) {
+        return (Histogram) metrics.computeIfAbsent(name,
+                key -> register(key, "Timer", new Histogram("us", 1000.0)));
+    }
+
+    /**
+     * Gets a histogram of plain values such as sizes, making and registering
+     * it the first time
+     *
+     * @param name the histogram's name
+     * @return the histogram
+     */
+    public static Histogram histogram(String name) {
+        return (Histogram) metrics.computeIfAbsent(name,
+                key -> register(key, "Histogram", new Histogram("", 1.0)));
+    }
+
+    /**
+     * Registers a metric with the platform MBean server. A metric that can't
+     * be registered still works; it just can't be seen through JMX.
+     *
+     * @param name   the metric's name
+     * @param type   the kind of metric, used in the object name
+     * @param metric the metric
+     * @return the metric
+     */
+    private static Object register(String name, String type, Object metric) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type
+                    + ",name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metric, objectName);
+            }
+        } catch (JMException | RuntimeException e) {
+            LOG.warn("Couldn't register metric " + name + " with JMX", e);
+        }
+        return metric;
+    }
+
+    /**
+     * Gets every metric made so far
+     *
+     * @return a copy, sorted by name
+     */
+    public static Map<String, Object> getMetrics() {
+        return new TreeMap<String, Object>(metrics);
+    }
+}
@@ -0,0 +1,241 @@
+package pipeline;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.SwingUtilities;
+
+import logging.Logger;
+
+/**
+ * Runs a game's model work on a worker thread so the event dispatch thread
+ * only ever paints and handles input. Each action fills a ViewBatch with the
+ * changes it wants to make, and the batch is applied on the event dispatch
+ * thread once the action is done.
+ *
+ * Actions run one at a time in the order they were submitted, so a model
+ * that isn't thread-safe can be handed to a pipeline and only ever touched
+ * from its worker. There are two kinds of action:
+ * <ul>
+ * <li>submit is for input that changes the game, such as a guess. It is
+ * always run and its changes are always shown.</li>
+ * <li>submitLatest is for work that only matters until the next input, such
+ * as a hint. Submitting anything newer cancels it, and if it finishes anyway
+ * its changes are thrown away.</li>
+ * </ul>
+ */
+public class ActionPipeline {
+
+    /**
+     * where failed actions are reported
+     */
+    private static final Logger LOG = Logger.get(ActionPipeline.class);
+
+    /**
+     * Work done on the pipeline's worker thread
+     */
+    public interface Action {
+
+        /**
+         * Does the work, adding any changes to the view to the batch
+         *
+         * @param batch the changes to apply on the event dispatch thread
+         * @throws Exception if the work fails; the batch is then dropped and
+         *                   onFailure is called instead
+         */
+        void run(ViewBatch batch) throws Exception;
+
+        /**
+         * Called on the worker when run throws, so the action can still undo
+         * whatever it set up before it was submitted. The changes added here
+         * are applied in place of the dropped batch. Does nothing unless
+         * overridden.
+         *
+         * @param failure what run threw
+         * @param batch   a fresh batch to apply on the event dispatch thread
+         */
+        default void onFailure(Exception failure, ViewBatch batch) {
+        }
+    }
+
+    /**
+     * the single worker thread that runs every action
+     */
+    private final ExecutorService worker;
+
+    /**
+     * goes up every time something is submitted; a latest-only action is
+     * stale once this has moved past the value it was submitted with
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * the latest-only action still waiting or running, if any
+     */
+    private Future<?> latest;
+
+    /**
+     * how many batches were applied and how many were dropped as stale
+     */
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Creates a pipeline with its own worker thread. The thread doesn't keep
+     * the program running once the windows are closed.
+     *
+     * @param name the name of the worker thread
+     */
+    public ActionPipeline(String name) {
+        worker = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs an action that changes the game. It runs after everything
+     * submitted before it and its changes are always shown. Any latest-only
+     * action still waiting is now stale and is cancelled.
+     *
+     * @param action the work to do
+     * @return the action's future
+     */
+    public synchronized Future<?> submit(Action action) {
+        generation.incrementAndGet();
+        cancelLatest();
+        return worker.submit(() -> run(action, -1));
+    }
+
+    /**
+     * Runs an action whose result only matters until the next input. Any
+     * earlier latest-only action is cancelled, and this one is in turn
+     * cancelled by whatever is submitted next.
+     *
+     * @param action the work to do
+     * @return the action's future
+     */
+    public synchronized Future<?> submitLatest(Action action) {
+        long submitted = generation.incrementAndGet();
+        cancelLatest();
+        latest = worker.submit(() -> run(action, submitted));
+        return latest;
+    }
+
+    /**
+     * Cancels the latest-only action, interrupting it if it has started
+     */
+    private void cancelLatest() {
+        if (latest != null) {
+            if (latest.cancel(true)) {
+                dropped.incrementAndGet();
+            }
+            latest = null;
+        }
+    }
+
+    /**
+     * Runs an action on the worker and hands its batch to the event dispatch
+     * thread
+     *
+     * @param action    the work to do
+     * @param submitted the generation a latest-only action was submitted
+     *                  with, or -1 for an action that is never stale
+     */
+    private void run(Action action, long submitted) {
+        // already counted as dropped when it was cancelled
+        if (isStale(submitted)) {
+            return;
+        }
+        ViewBatch batch = new ViewBatch();
+        try {
+            action.run(batch);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException && submitted >= 0) {
+                // cancelled while it was running
+                return;
+            }
+            LOG.error("An action failed", e);
+            batch = failed(action, e);
+        }
+        publish(batch, submitted);
+    }
+
+    /**
+     * Gives a failed action the chance to add its clean-up changes
+     *
+     * @param action  the action that failed
+     * @param failure what it threw
+     * @return the clean-up changes, empty if it has none
+     */
+    private ViewBatch failed(Action action, Exception failure) {
+        ViewBatch batch = new ViewBatch();
+        try {
+            action.onFailure(failure, batch);
+        } catch (RuntimeException e) {
+            LOG.error("An action's failure handler failed", e);
+        }
+        return batch;
+    }
+
+    /**
+     * Hands a batch to the event dispatch thread, unless it is empty
+     *
+     * @param batch     the changes to apply
+     * @param submitted the generation a latest-only action was submitted
+     *                  with, or -1 for an action that is never stale
+     */
+    private void publish(ViewBatch batch, long submitted) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            // newer input may have come in while the batch was queued
+            if (isStale(submitted)) {
+                dropped.incrementAndGet();
+                return;
+            }
+            batch.apply();
+            applied.incrementAndGet();
+        });
+    }
+
+    /**
+     * Checks whether anything was submitted after a latest-only action
+     *
+     * @param submitted the action's generation, or -1 if it is never stale
+     * @return true if the action's result is no longer wanted
+     */
+    private boolean isStale(long submitted) {
+        return submitted >= 0 && (submitted != generation.get()
+                || Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * Gets how many batches have been shown
+     *
+     * @return the number of batches applied on the event dispatch thread
+     */
+    public long getAppliedCount() {
+        return applied.get();
+    }
+
+    /**
+     * Gets how many latest-only actions were cancelled or thrown away
+     *
+     * @return the number of stale results dropped
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops the worker once the actions already submitted have run
+     */
+    public void shutdown() {
+        worker.shutdown();
+    }
+}
@@ -0,0 +1,54 @@
+package pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The changes to the view that one action wants to make. An action running
+ * on a worker thread adds them here instead of touching Swing, and the whole
+ * batch is applied on the event dispatch thread in one go, in the order the
+ * changes were added.
+ */
+public class ViewBatch {
+
+    /**
+     * the changes waiting to be applied
+     */
+    private final List<Runnable> deltas = new ArrayList<Runnable>();
+
+    /**
+     * Adds a change to the end of the batch
+     *
+     * @param delta the change, run later on the event dispatch thread
+     */
+    public void add(Runnable delta) {
+        deltas.add(delta);
+    }
+
+    /**
+     * Checks whether the action had anything to show
+     *
+     * @return true if no changes were added
+     */
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    /**
+     * Gets how many changes are in the batch
+     *
+     * @return the number of changes
+     */
+    public int size() {
+        return deltas.size();
+    }
+
+    /**
+     * Makes every change, in order. Only called on the event dispatch thread.
+     */
+    void apply() {
+        for (Runnable delta : deltas) {
+            delta.run();
+        }
+    }
+}
@@ -3,6 +3,9 @@ package spellingBee.controller;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import javax.swing.*;
 import javax.swing.border.LineBorder;
 import spellingBee.view.*;
@@ -32,36 +35,130 @@ public class SpellingBeeGUI {
     private JTextField textField;
 
     /**
-     * the model class through which complicated actions are controlled
+     * the model class through which complicated actions are controlled; null
+     * until the dictionary has loaded
      */
     private SpellingBeeGame game;
 
     /**
-     * constructs a game and displays view items
+     * the label above the game that gives instructions
+     */
+    private JLabel messageLabel;
+
+    /**
+     * the panel holding the text field, buttons and honeycomb
+     */
+    private JPanel center;
+
+    /**
+     * the shuffle and enter buttons, turned on once the game is ready
+     */
+    private JButton shuffleButton;
+    private JButton enterButton;
+
+    /**
+     * the bar shown where the honeycomb goes while the dictionary loads
+     */
+    private JProgressBar progressBar;
+
+    /**
+     * displays the view items straight away and builds the game in the
+     * background. Typing and the buttons are turned on once the dictionary
+     * has loaded
      */
     public SpellingBeeGUI() {
         JFrame f = new JFrame();
         f.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
         JPanel north = new JPanel();
-        JLabel messageLabel = new JLabel("Please type in lowercase letters only");
+        messageLabel = new JLabel("Loading the dictionary, please wait");
         north.add(messageLabel);
         f.add(north, BorderLayout.NORTH);
         
         JPanel east = new JPanel();
         initializeWordListDisplay(east);
-        game = new SpellingBeeGame(wordListDisplay);
 
-        JPanel center = new JPanel();
+        center = new JPanel();
         initializeTextField(center);
         initializeButtons(center);
-        game = new SpellingBeeGame(wordListDisplay);
-        initializeHoneyComb(center);
+        initializeProgressBar(center);
+        setInputEnabled(false);
 
         f.add(center, BorderLayout.CENTER);
         f.add(east, BorderLayout.EAST);
         f.setSize(800, 550);
         f.setVisible(true);
+
+        loadGame();
+    }
+
+    /**
+     * loads the dictionary and picks a puzzle on a background thread, then
+     * shows the honeycomb and turns on input. The window is already up, so
+     * how long this takes doesn't hold up the first frame
+     */
+    private void loadGame() {
+        new SwingWorker<SpellingBeeGame, String>() {
+            @Override
+            protected SpellingBeeGame doInBackground() throws IOException {
+                publish("Loading words...");
+                BeeDictionary.get();
+                publish("Choosing a puzzle...");
+                return new SpellingBeeGame(wordListDisplay);
+            }
+
+            @Override
+            protected void process(List<String> stages) {
+                progressBar.setString(stages.get(stages.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    game = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    progressBar.setIndeterminate(false);
+                    progressBar.setString("Couldn't load the dictionary");
+                    messageLabel.setText("Couldn't load the dictionary");
+                    initializeErrorPopup(" Couldn't load the dictionary: "
+                            + (e.getCause() != null ? e.getCause() : e));
+                    return;
+                }
+                center.remove(progressBar);
+                initializeHoneyComb(center);
+                center.revalidate();
+                center.repaint();
+                messageLabel.setText("Please type in lowercase letters only");
+                setInputEnabled(true);
+                textField.requestFocusInWindow();
+            }
+        }.execute();
+    }
+
+    /**
+     * puts a progress bar where the honeycomb will go
+     * 
+     * @param p the panel the progress bar will be added to
+     */
+    private void initializeProgressBar(JPanel p) {
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setString("Starting...");
+        // the same width as the honeycomb so nothing moves when it appears
+        progressBar.setPreferredSize(new Dimension(500, 24));
+        p.add(progressBar);
+    }
+
+    /**
+     * turns typing and the buttons on or off
+     * 
+     * @param enabled true to let the player play
+     */
+    private void setInputEnabled(boolean enabled) {
+        textField.setEnabled(enabled);
+        shuffleButton.setEnabled(enabled);
+        enterButton.setEnabled(enabled);
     }
 
     /**
@@ -72,6 +169,11 @@ public class SpellingBeeGUI {
     private void initializeHoneyComb(JPanel p) {
         honeycomb = new Honeycomb(game.getStarterLetters(), 50, 50);
         honeycomb.setPreferredSize(new Dimension(500, 400));
+        // clicking a letter types it into the text field
+        honeycomb.addHoneycombListener(letter -> {
+            textField.replaceSelection(String.valueOf(letter));
+            textField.requestFocusInWindow();
+        });
         p.add(honeycomb);
         honeycomb.shuffle();
     }
@@ -83,10 +185,12 @@ public class SpellingBeeGUI {
      */
     private void initializeWordListDisplay(JPanel p) {
         wordListDisplay = new WordListDisplay();
-        wordListDisplay.setPreferredSize(new Dimension(200, 500));
-        wordListDisplay.setBorder(new LineBorder(Color.BLACK));
 
+        // the display grows a row per word, so the scroll pane gets the
+        // fixed size and scrolls once the words no longer fit
         JScrollPane scroller = new JScrollPane(wordListDisplay);
+        scroller.setPreferredSize(new Dimension(200, 500));
+        scroller.setBorder(new LineBorder(Color.BLACK));
         p.add(scroller);
     }
 
@@ -110,14 +214,14 @@ public class SpellingBeeGUI {
         JPanel flow = new JPanel();
 
         // the shuffle button will shuffle the honeycomb
-        JButton shuffle = new JButton("Shuffle");
-        shuffle.addActionListener(event -> honeycomb.shuffle());
-        flow.add(shuffle);
+        shuffleButton = new JButton("Shuffle");
+        shuffleButton.addActionListener(event -> honeycomb.shuffle());
+        flow.add(shuffleButton);
 
         // the enter button will enter a word
-        JButton enter = new JButton("Enter");
-        enter.addActionListener(event -> submitWord());
-        flow.add(enter);
+        enterButton = new JButton("Enter");
+        enterButton.addActionListener(event -> submitWord());
+        flow.add(enterButton);
         p.add(flow);
     }
 
@@ -133,12 +237,14 @@ public class SpellingBeeGUI {
         }
         textField.setText("");
 
-        // creates an error popup (if necessary) using helper methods
-        int errorType = game.checkAddWord(word);
-        if (errorType != 0) {
-            String message = getErrorMessage(errorType);
-            initializeErrorPopup(message);
-        }
+        // the word is checked off the event thread; an error popup is
+        // created (if necessary) using helper methods once it is done
+        game.submitWord(word, errorType -> {
+            if (errorType != 0) {
+                String message = getErrorMessage(errorType);
+                initializeErrorPopup(message);
+            }
+        });
     }
 
     /**
@@ -169,6 +275,8 @@ public class SpellingBeeGUI {
             return "Too short, must be at least 4 letters long";
         } else if (errorType == 5) {
             return "Invalid letters. Some of the letters are not in the honeycomb. Use honeycomb letters only!";
+        } else if (errorType == 6) {
+            return "Something went wrong checking that word, please try again";
         }
 
         return "";
@@ -180,6 +288,6 @@ public class SpellingBeeGUI {
      * @param args read in paramaters
      */
     public static void main(String[] args) {
-        SpellingBeeGUI bee = new SpellingBeeGUI();
+        SwingUtilities.invokeLater(SpellingBeeGUI::new);
     }
 }
@@ -0,0 +1,383 @@
+package spellingBee.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lexicon.LengthView;
+import lexicon.Lexicon;
+
+/**
+ * Every word that could ever be a Spelling Bee answer, with the set of
+ * distinct letters in each one worked out ahead of time as a 26-bit mask.
+ * A puzzle's answers are then just the words whose mask fits inside the
+ * honeycomb's mask and has the middle letter's bit set, so starting a game
+ * never has to look at the text of the dictionary.
+ *
+ * Words are grouped by mask, and a hash table finds the group for any mask.
+ * Seven honeycomb letters only have 64 subsets that include the middle
+ * letter, so a whole puzzle is answered with 64 lookups.
+ *
+ * The dictionary is built once per JVM and never changes, so it is safe to
+ * share between games and threads.
+ */
+public final class BeeDictionary {
+
+    /**
+     * the shortest word the game accepts
+     */
+    public static final int MIN_LENGTH = 4;
+
+    /**
+     * the number of letters in a honeycomb
+     */
+    public static final int PUZZLE_LETTERS = 7;
+
+    /**
+     * the mask of a word that can't be an answer (it has something other
+     * than the letters a to z in it)
+     */
+    public static final int INVALID = -1;
+
+    /**
+     * the shared dictionary, null until the first call to get
+     */
+    private static volatile BeeDictionary instance;
+
+    /**
+     * the lexicon the words come from, indexed by length
+     */
+    private final LengthView[] views;
+
+    /**
+     * where to find each word in the lexicon: the length in the high half,
+     * the index within that length in the low half. Words with the same
+     * mask are next to each other, shortest first and then alphabetically.
+     */
+    private final long[] refs;
+
+    /**
+     * the mask of each group of words
+     */
+    private final int[] groupMasks;
+
+    /**
+     * where each group starts in refs; one longer than groupMasks so the
+     * last group has an end
+     */
+    private final int[] groupStarts;
+
+    /**
+     * open-addressing hash table from a mask to its group number plus one,
+     * 0 for an empty slot
+     */
+    private final int[] table;
+
+    /**
+     * a hash of every word in the dictionary, so files built from it can
+     * tell when the words have changed
+     */
+    private final long contentHash;
+
+    /**
+     * builds the masks for every word short enough in distinct letters to
+     * fit in a honeycomb
+     *
+     * @param lexicon the shared lexicon
+     */
+    private BeeDictionary(Lexicon lexicon) {
+        views = new LengthView[lexicon.getMaxLength() + 1];
+        int[] masks = new int[1024];
+        long[] refs = new long[1024];
+        int count = 0;
+        long hash = 1;
+        for (int length = MIN_LENGTH; length < views.length; length++) {
+            LengthView view = lexicon.getWords(length);
+            views[length] = view;
+            for (int i = 0; i < view.size(); i++) {
+                int mask = view.getLetterMask(i);
+                if (Integer.bitCount(mask) > PUZZLE_LETTERS) {
+                    continue;
+                }
+                if (count == masks.length) {
+                    masks = Arrays.copyOf(masks, count * 2);
+                    refs = Arrays.copyOf(refs, count * 2);
+                }
+                masks[count] = mask;
+                refs[count] = (long) length << 32 | i;
+                count++;
+                // the first 12 letters, the length and the letter set
+                hash = hash * 31 + view.getPackedWord(i);
+                hash = hash * 31 + ((long) length << 32 | mask);
+            }
+        }
+        this.contentHash = hash;
+
+        // sorts by mask; the low half keeps words with the same mask in
+        // the order they were read
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (long) masks[i] << 32 | i;
+        }
+        Arrays.sort(order);
+
+        this.refs = new long[count];
+        int[] groupMasks = new int[count];
+        int[] groupStarts = new int[count + 1];
+        int groups = 0;
+        for (int i = 0; i < count; i++) {
+            int mask = (int) (order[i] >>> 32);
+            this.refs[i] = refs[(int) order[i]];
+            if (groups == 0 || groupMasks[groups - 1] != mask) {
+                groupMasks[groups] = mask;
+                groupStarts[groups] = i;
+                groups++;
+            }
+        }
+        groupStarts[groups] = count;
+        this.groupMasks = Arrays.copyOf(groupMasks, groups);
+        this.groupStarts = Arrays.copyOf(groupStarts, groups + 1);
+
+        // at most half full, so probes stay short
+        this.table = new int[Integer.highestOneBit(Math.max(groups, 1)) * 4];
+        for (int g = 0; g < groups; g++) {
+            int slot = slotOf(groupMasks[g]);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = g + 1;
+        }
+    }
+
+    /**
+     * gets the shared dictionary, building it on the first call
+     *
+     * @return the shared dictionary
+     * @throws IOException if the lexicon can't be loaded
+     */
+    public static BeeDictionary get() throws IOException {
+        BeeDictionary dictionary = instance;
+        if (dictionary == null) {
+            synchronized (BeeDictionary.class) {
+                dictionary = instance;
+                if (dictionary == null) {
+                    dictionary = new BeeDictionary(Lexicon.get());
+                    instance = dictionary;
+                }
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * works out the distinct letters of a word
+     *
+     * @param word the word, in any case
+     * @return a mask with bit 0 set for 'a' up to bit 25 for 'z', or INVALID
+     *         if the word has anything other than letters in it
+     */
+    public static int maskOf(CharSequence word) {
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = (word.charAt(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return INVALID;
+            }
+            mask |= 1 << letter;
+        }
+        return mask;
+    }
+
+    /**
+     * checks whether a word uses only the honeycomb letters and the middle
+     * one
+     *
+     * @param wordMask the word's mask
+     * @param letters  the mask of all seven honeycomb letters
+     * @param middle   the mask of the middle letter
+     * @return true if the word could be an answer to the puzzle
+     */
+    public static boolean fits(int wordMask, int letters, int middle) {
+        return wordMask != INVALID && (wordMask & ~letters) == 0
+                && (wordMask & middle) != 0;
+    }
+
+    /**
+     * checks whether a word uses every honeycomb letter
+     *
+     * @param wordMask the word's mask
+     * @return true if the word is a pangram
+     */
+    public static boolean isPangram(int wordMask) {
+        return wordMask != INVALID
+                && Integer.bitCount(wordMask) == PUZZLE_LETTERS;
+    }
+
+    /**
+     * finds every answer to a puzzle by looking up each subset of the
+     * honeycomb letters that has the middle letter in it
+     *
+     * @param letters the mask of all seven honeycomb letters
+     * @param middle  the mask of the middle letter
+     * @return the answers grouped by the letters they use, with pangrams
+     *         marked
+     */
+    public List<Word> answersFor(int letters, int middle) {
+        List<Word> answers = new ArrayList<Word>();
+        if ((letters & middle) == 0) {
+            return answers;
+        }
+        int outer = letters & ~middle;
+        // walks every subset of the outer letters, down to the empty one
+        int subset = outer;
+        while (true) {
+            int mask = subset | middle;
+            int group = groupOf(mask);
+            if (group >= 0) {
+                boolean pangram = isPangram(mask);
+                for (int i = groupStarts[group]; i < groupStarts[group + 1]; i++) {
+                    answers.add(new Word(wordAt(i), pangram));
+                }
+            }
+            if (subset == 0) {
+                return answers;
+            }
+            subset = (subset - 1) & outer;
+        }
+    }
+
+    /**
+     * checks whether a word is in the dictionary, looking only at the words
+     * with the same letters
+     *
+     * @param word the word, in lower case
+     * @return true if the word could be an answer to some puzzle
+     */
+    public boolean contains(String word) {
+        int group = groupOf(maskOf(word));
+        if (group < 0) {
+            return false;
+        }
+        for (int i = groupStarts[group]; i < groupStarts[group + 1]; i++) {
+            if ((int) (refs[i] >>> 32) == word.length() && wordAt(i).equals(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * finds the group of words with exactly these letters
+     *
+     * @param mask the letters
+     * @return the group number, or -1 if no word has those letters
+     */
+    int groupOf(int mask) {
+        if (mask == INVALID) {
+            return -1;
+        }
+        int slot = slotOf(mask);
+        while (table[slot] != 0) {
+            int group = table[slot] - 1;
+            if (groupMasks[group] == mask) {
+                return group;
+            }
+            slot = (slot + 1) & (table.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * picks the first table slot to try for a mask
+     *
+     * @param mask the letters
+     * @return the slot
+     */
+    private int slotOf(int mask) {
+        int hash = mask * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (table.length - 1);
+    }
+
+    /**
+     * finds where a group's words start
+     *
+     * @param group the group number
+     * @return the index of the group's first word
+     */
+    int groupStart(int group) {
+        return groupStarts[group];
+    }
+
+    /**
+     * finds where a group's words end
+     *
+     * @param group the group number
+     * @return one past the index of the group's last word
+     */
+    int groupEnd(int group) {
+        return groupStarts[group + 1];
+    }
+
+    /**
+     * unpacks one of the dictionary's words
+     *
+     * @param i the index of the word
+     * @return the word in lower case
+     */
+    String wordAt(int i) {
+        long ref = refs[i];
+        return views[(int) (ref >>> 32)].getWord((int) ref);
+    }
+
+    /**
+     * gets every set of seven letters that some word uses all of, so each
+     * one is the letters of at least one puzzle
+     *
+     * @return the masks in increasing order
+     */
+    public int[] getPangramMasks() {
+        int count = 0;
+        for (int mask : groupMasks) {
+            if (isPangram(mask)) {
+                count++;
+            }
+        }
+        int[] pangramMasks = new int[count];
+        count = 0;
+        for (int mask : groupMasks) {
+            if (isPangram(mask)) {
+                pangramMasks[count++] = mask;
+            }
+        }
+        return pangramMasks;
+    }
+
+    /**
+     * a getter for the number of words that could be answers
+     *
+     * @return the number of words in the dictionary
+     */
+    public int size() {
+        return refs.length;
+    }
+
+    /**
+     * a getter for a hash of every word in the dictionary. Two dictionaries
+     * with the same words in the same order have the same hash
+     *
+     * @return the hash
+     */
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * a getter for the number of different letter sets the words use
+     *
+     * @return the number of groups
+     */
+    public int getGroupCount() {
+        return groupMasks.length;
+    }
+}
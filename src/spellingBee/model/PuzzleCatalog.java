@@ -0,0 +1,314 @@
+package spellingBee.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Every Spelling Bee puzzle the dictionary allows, with its answer count,
+ * best possible score and pangrams worked out ahead of time by
+ * PuzzleCatalogBuilder. The catalog is memory-mapped read-only, so picking
+ * a puzzle is a single read at a known offset.
+ *
+ * A puzzle is a set of seven letters that some word uses all of, plus one of
+ * those letters in the middle. The file starts with a header (int magic,
+ * int version, int wordCount, int puzzleCount, int textSize, long
+ * dictionaryHash), then one
+ * fixed-size record per puzzle, then where each letter set's pangrams start
+ * in the text, then the pangrams themselves. The seven puzzles of a letter
+ * set are next to each other and share one pangram list.
+ */
+public class PuzzleCatalog {
+
+    /**
+     * "SBPC", the first four bytes of every catalog file
+     */
+    static final int MAGIC = 0x53425043;
+
+    /**
+     * bumped whenever the layout or the scoring rules change
+     */
+    static final int VERSION = 3;
+
+    /**
+     * the size of the fixed header in bytes
+     */
+    static final int HEADER_SIZE = 28;
+
+    /**
+     * the size of one puzzle record in bytes: int letters, byte middle
+     * letter, byte pangram count, two bytes of padding, int answer count,
+     * int maximum score
+     */
+    static final int RECORD_SIZE = 16;
+
+    /**
+     * the number of puzzles that share each letter set
+     */
+    static final int PUZZLES_PER_SET = BeeDictionary.PUZZLE_LETTERS;
+
+    /**
+     * the mapped file
+     */
+    private final ByteBuffer data;
+
+    /**
+     * the number of dictionary words the catalog was built from
+     */
+    private final int wordCount;
+
+    /**
+     * the content hash of the dictionary the catalog was built from
+     */
+    private final long dictionaryHash;
+
+    /**
+     * the number of puzzles
+     */
+    private final int puzzleCount;
+
+    /**
+     * where the pangram starts are in the file
+     */
+    private final int startsOffset;
+
+    /**
+     * where the pangram text is in the file
+     */
+    private final int textOffset;
+
+    /**
+     * Wraps a mapped file whose header has been read
+     *
+     * @param data           the mapped file
+     * @param wordCount      the number of dictionary words
+     * @param dictionaryHash the dictionary's content hash
+     * @param puzzleCount    the number of puzzles
+     */
+    private PuzzleCatalog(ByteBuffer data, int wordCount, long dictionaryHash,
+            int puzzleCount) {
+        this.data = data;
+        this.wordCount = wordCount;
+        this.dictionaryHash = dictionaryHash;
+        this.puzzleCount = puzzleCount;
+        this.startsOffset = startsOffset(puzzleCount);
+        this.textOffset = textOffset(puzzleCount);
+    }
+
+    /**
+     * Maps a catalog file
+     *
+     * @param file the file written by PuzzleCatalogBuilder
+     * @return the catalog
+     * @throws IOException if the file can't be read or isn't a catalog
+     */
+    public static PuzzleCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+            if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC
+                    || data.getInt(4) != VERSION) {
+                throw new IOException(file + " is not a puzzle catalog");
+            }
+            int wordCount = data.getInt(8);
+            int puzzleCount = data.getInt(12);
+            int textSize = data.getInt(16);
+            long dictionaryHash = data.getLong(20);
+            if (puzzleCount % PUZZLES_PER_SET != 0
+                    || data.capacity() != fileSize(puzzleCount, textSize)) {
+                throw new IOException(file + " is truncated");
+            }
+            return new PuzzleCatalog(data, wordCount, dictionaryHash, puzzleCount);
+        }
+    }
+
+    /**
+     * Works out where the pangram starts are in a file
+     *
+     * @param puzzleCount the number of puzzles
+     * @return the byte offset of the first start
+     */
+    static int startsOffset(int puzzleCount) {
+        return HEADER_SIZE + puzzleCount * RECORD_SIZE;
+    }
+
+    /**
+     * Works out where the pangram text is in a file
+     *
+     * @param puzzleCount the number of puzzles
+     * @return the byte offset of the text
+     */
+    static int textOffset(int puzzleCount) {
+        return startsOffset(puzzleCount) + (puzzleCount / PUZZLES_PER_SET + 1) * 4;
+    }
+
+    /**
+     * Works out how big a file is
+     *
+     * @param puzzleCount the number of puzzles
+     * @param textSize    the number of bytes of pangram text
+     * @return the file size in bytes
+     */
+    static long fileSize(int puzzleCount, int textSize) {
+        return (long) textOffset(puzzleCount) + textSize;
+    }
+
+    /**
+     * a getter for the number of puzzles
+     *
+     * @return the number of puzzles
+     */
+    public int size() {
+        return puzzleCount;
+    }
+
+    /**
+     * a getter for the size of the dictionary the catalog was built from
+     *
+     * @return the number of dictionary words
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * a getter for the content hash of the dictionary the catalog was built
+     * from
+     *
+     * @return the hash, see BeeDictionary.getContentHash
+     */
+    public long getDictionaryHash() {
+        return dictionaryHash;
+    }
+
+    /**
+     * gets a puzzle's letters
+     *
+     * @param puzzle the puzzle number
+     * @return the seven letters in lower case, the middle letter first and
+     *         the rest in alphabetical order
+     */
+    public String getStarterLetters(int puzzle) {
+        int letters = getLetterMask(puzzle);
+        int middle = getMiddleLetter(puzzle);
+        char[] starters = new char[BeeDictionary.PUZZLE_LETTERS];
+        starters[0] = (char) ('a' + middle);
+        int count = 1;
+        for (int letter = 0; letter < 26; letter++) {
+            if (letter != middle && (letters & (1 << letter)) != 0) {
+                starters[count++] = (char) ('a' + letter);
+            }
+        }
+        return new String(starters);
+    }
+
+    /**
+     * gets a puzzle's letters as a mask
+     *
+     * @param puzzle the puzzle number
+     * @return a mask with bit 0 set for 'a' up to bit 25 for 'z'
+     */
+    public int getLetterMask(int puzzle) {
+        return data.getInt(recordOffset(puzzle));
+    }
+
+    /**
+     * gets a puzzle's middle letter
+     *
+     * @param puzzle the puzzle number
+     * @return 0 for 'a' up to 25 for 'z'
+     */
+    public int getMiddleLetter(int puzzle) {
+        return data.get(recordOffset(puzzle) + 4);
+    }
+
+    /**
+     * gets how many words solve a puzzle
+     *
+     * @param puzzle the puzzle number
+     * @return the number of answers
+     */
+    public int getAnswerCount(int puzzle) {
+        return data.getInt(recordOffset(puzzle) + 8);
+    }
+
+    /**
+     * gets the score for finding every answer to a puzzle. The game scores
+     * one point per word found, so this is the same as the answer count
+     *
+     * @param puzzle the puzzle number
+     * @return the maximum score
+     */
+    public int getMaxScore(int puzzle) {
+        return data.getInt(recordOffset(puzzle) + 12);
+    }
+
+    /**
+     * gets the words that use all seven of a puzzle's letters
+     *
+     * @param puzzle the puzzle number
+     * @return the pangrams in alphabetical order
+     */
+    public List<String> getPangrams(int puzzle) {
+        int set = puzzle / PUZZLES_PER_SET;
+        int start = data.getInt(startsOffset + set * 4);
+        int end = data.getInt(startsOffset + set * 4 + 4);
+        byte[] text = new byte[end - start];
+        data.get(textOffset + start, text);
+        List<String> pangrams = new ArrayList<String>(data.get(recordOffset(puzzle) + 5) & 0xFF);
+        for (String pangram : new String(text, StandardCharsets.US_ASCII).split("\n")) {
+            pangrams.add(pangram);
+        }
+        return pangrams;
+    }
+
+    /**
+     * picks a puzzle at random
+     *
+     * @param random the random generator to use
+     * @return the puzzle number, or -1 if the catalog has no puzzles
+     */
+    public int randomPuzzle(Random random) {
+        if (puzzleCount == 0) {
+            return -1;
+        }
+        return random.nextInt(puzzleCount);
+    }
+
+    /**
+     * finds the puzzles with a certain number of answers, so games can be
+     * made easier or harder without looking at the dictionary
+     *
+     * @param minAnswers the fewest answers allowed
+     * @param maxAnswers the most answers allowed
+     * @return the matching puzzle numbers in order
+     */
+    public int[] findPuzzles(int minAnswers, int maxAnswers) {
+        int[] puzzles = new int[puzzleCount];
+        int count = 0;
+        for (int puzzle = 0; puzzle < puzzleCount; puzzle++) {
+            int answers = getAnswerCount(puzzle);
+            if (answers >= minAnswers && answers <= maxAnswers) {
+                puzzles[count++] = puzzle;
+            }
+        }
+        return Arrays.copyOf(puzzles, count);
+    }
+
+    /**
+     * Works out where a puzzle's record is
+     *
+     * @param puzzle the puzzle number
+     * @return the byte offset of the record
+     */
+    private static int recordOffset(int puzzle) {
+        return HEADER_SIZE + puzzle * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,195 @@
+package spellingBee.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the PuzzleCatalog file from the Spelling Bee dictionary. Every
+ * letter set is worked out in parallel on the common fork/join pool, and
+ * each of its seven puzzles costs 64 lookups in the dictionary's letter
+ * index.
+ */
+public class PuzzleCatalogBuilder {
+
+    /**
+     * the default name of the puzzle catalog file
+     */
+    public static final String PUZZLE_FILE = "puzzles.bin";
+
+    /**
+     * Gets the catalog for a dictionary, reusing the file if it has the
+     * current format and was built from the same words. A file with another
+     * version or dictionary hash is rebuilt
+     *
+     * @param dictionary the Spelling Bee dictionary
+     * @param file       where the catalog is kept
+     * @return the catalog, mapped read-only
+     * @throws IOException if the file can't be written or mapped
+     */
+    public PuzzleCatalog build(BeeDictionary dictionary, Path file)
+            throws IOException {
+        if (Files.exists(file)) {
+            try {
+                PuzzleCatalog old = PuzzleCatalog.open(file);
+                if (old.getWordCount() == dictionary.size()
+                        && old.getDictionaryHash() == dictionary.getContentHash()) {
+                    return old;
+                }
+            } catch (IOException e) {
+                // a corrupt or outdated file is rebuilt from scratch
+            }
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, toBytes(dictionary));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        return PuzzleCatalog.open(file);
+    }
+
+    /**
+     * Works out every puzzle and lays out the catalog file
+     *
+     * @param dictionary the Spelling Bee dictionary
+     * @return the contents of the file
+     */
+    private byte[] toBytes(BeeDictionary dictionary) {
+        int[] sets = dictionary.getPangramMasks();
+        int puzzleCount = sets.length * PuzzleCatalog.PUZZLES_PER_SET;
+        int[] middles = new int[puzzleCount];
+        int[] answerCounts = new int[puzzleCount];
+        int[] maxScores = new int[puzzleCount];
+        byte[][] pangramText = new byte[sets.length][];
+
+        // each task fills only its own letter set's slots
+        IntStream.range(0, sets.length).parallel().forEach(s -> {
+            int letters = sets[s];
+            int puzzle = s * PuzzleCatalog.PUZZLES_PER_SET;
+            for (int rest = letters; rest != 0; rest &= rest - 1) {
+                int middle = Integer.lowestOneBit(rest);
+                middles[puzzle] = Integer.numberOfTrailingZeros(middle);
+                score(dictionary, letters, middle, answerCounts, maxScores, puzzle);
+                puzzle++;
+            }
+            pangramText[s] = pangramsOf(dictionary, letters);
+        });
+
+        int textSize = 0;
+        for (byte[] text : pangramText) {
+            textSize += text.length;
+        }
+        ByteBuffer out = ByteBuffer.allocate(
+                (int) PuzzleCatalog.fileSize(puzzleCount, textSize));
+        out.putInt(PuzzleCatalog.MAGIC);
+        out.putInt(PuzzleCatalog.VERSION);
+        out.putInt(dictionary.size());
+        out.putInt(puzzleCount);
+        out.putInt(textSize);
+        out.putLong(dictionary.getContentHash());
+        for (int puzzle = 0; puzzle < puzzleCount; puzzle++) {
+            int set = puzzle / PuzzleCatalog.PUZZLES_PER_SET;
+            out.putInt(sets[set]);
+            out.put((byte) middles[puzzle]);
+            out.put((byte) countPangrams(pangramText[set]));
+            out.putShort((short) 0);
+            out.putInt(answerCounts[puzzle]);
+            out.putInt(maxScores[puzzle]);
+        }
+        int start = 0;
+        for (byte[] text : pangramText) {
+            out.putInt(start);
+            start += text.length;
+        }
+        out.putInt(start);
+        for (byte[] text : pangramText) {
+            out.put(text);
+        }
+        return out.array();
+    }
+
+    /**
+     * Counts every answer to one puzzle. The game scores a point per word,
+     * so the maximum score is the answer count
+     *
+     * @param dictionary   the Spelling Bee dictionary
+     * @param letters      the puzzle's letters
+     * @param middle       the mask of the middle letter
+     * @param answerCounts where to put the answer count
+     * @param maxScores    where to put the maximum score
+     * @param puzzle       the puzzle number
+     */
+    private static void score(BeeDictionary dictionary, int letters, int middle,
+            int[] answerCounts, int[] maxScores, int puzzle) {
+        int outer = letters & ~middle;
+        int answers = 0;
+        // walks every subset of the outer letters, down to the empty one
+        int subset = outer;
+        while (true) {
+            int mask = subset | middle;
+            int group = dictionary.groupOf(mask);
+            if (group >= 0) {
+                answers += dictionary.groupEnd(group) - dictionary.groupStart(group);
+            }
+            if (subset == 0) {
+                break;
+            }
+            subset = (subset - 1) & outer;
+        }
+        answerCounts[puzzle] = answers;
+        maxScores[puzzle] = answers;
+    }
+
+    /**
+     * Lists the words that use all of a letter set
+     *
+     * @param dictionary the Spelling Bee dictionary
+     * @param letters    the letter set
+     * @return the pangrams, one per line
+     */
+    private static byte[] pangramsOf(BeeDictionary dictionary, int letters) {
+        int group = dictionary.groupOf(letters);
+        String[] pangrams = new String[dictionary.groupEnd(group) - dictionary.groupStart(group)];
+        for (int i = 0; i < pangrams.length; i++) {
+            pangrams[i] = dictionary.wordAt(dictionary.groupStart(group) + i);
+        }
+        Arrays.sort(pangrams);
+        return String.join("\n", pangrams).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Counts the pangrams in a letter set's text
+     *
+     * @param text the pangrams, one per line
+     * @return the number of pangrams, at most 255
+     */
+    private static int countPangrams(byte[] text) {
+        int count = 1;
+        for (byte b : text) {
+            if (b == '\n') {
+                count++;
+            }
+        }
+        return Math.min(count, 255);
+    }
+
+    /**
+     * Builds the puzzle catalog for the bundled word lists
+     *
+     * @param args optionally the catalog file to write
+     * @throws IOException if the file can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : PUZZLE_FILE);
+        long start = System.nanoTime();
+        PuzzleCatalog catalog = new PuzzleCatalogBuilder().build(BeeDictionary.get(), file);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(catalog.size() + " puzzles in " + file + ", "
+                + millis + " ms");
+    }
+}
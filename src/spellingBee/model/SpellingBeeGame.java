@@ -1,12 +1,19 @@
 package spellingBee.model;
 
-import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
-import java.util.Scanner;
+import java.util.function.IntConsumer;
 
+import events.WordCheckEvent;
+import logging.Logger;
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+import pipeline.ActionPipeline;
+import pipeline.ViewBatch;
 import spellingBee.view.WordListDisplay;
 
 /**
@@ -22,9 +29,10 @@ public class SpellingBeeGame {
     private WordListDisplay wordListDisplay;
 
     /**
-     * the letters that will make up the honeycomb
+     * the letters that will make up the honeycomb; volatile so a word checked
+     * on the worker sees the puzzle it was entered for
      */
-    private String starterLetters;
+    private volatile String starterLetters;
 
     /**
      * a random generator
@@ -32,14 +40,39 @@ public class SpellingBeeGame {
     private Random distGen = new Random();
 
     /**
-     * the length of the SpellingBeeWords file
+     * every puzzle the dictionary allows, shared by all games; null until
+     * the first game needs it
      */
-    private static final int SPELLING_BEE_FILE_LENGTH = 4125;
+    private static PuzzleCatalog catalog;
 
     /**
-     * a list holding all words that can be entered
+     * checks submitted words off the event dispatch thread, shared by all
+     * games
      */
-    WordList dictionary;
+    private static final ActionPipeline PIPELINE = new ActionPipeline("spelling-bee-actions");
+
+    /**
+     * where the word checks are logged
+     */
+    private static final Logger LOG = Logger.get(SpellingBeeGame.class);
+
+    /**
+     * how long checking a word takes, and how many words are turned down
+     */
+    private static final Histogram CHECK_TIME = MetricsRegistry.timer("spellingBee.checkWord");
+    private static final Counter REJECTED_WORDS = MetricsRegistry.counter("spellingBee.words.rejected");
+
+    /**
+     * a list holding all words that can be entered. A new puzzle's list is
+     * filled before it is published, so the worker never sees it half built
+     */
+    volatile WordList dictionary;
+
+    /**
+     * the shared dictionary of every possible answer, grouped by letters;
+     * null if it couldn't be loaded
+     */
+    private volatile BeeDictionary beeDictionary;
 
     /**
      * a constructor - builds a game based on the wordListDisplay
@@ -54,56 +87,102 @@ public class SpellingBeeGame {
         try {
             initDictionary();
         } catch (FileNotFoundException e) {
-            e.printStackTrace();
+            LOG.error("Couldn't load the Spelling Bee dictionary", e);
         }
     }
 
     /**
-     * initializes starterletters
+     * a constructor - builds a game with chosen letters instead of a random
+     * puzzle, so the same game can be set up again
+     * 
+     * @param wordListDisplay
+     * @param starterLetters seven different lowercase letters, the middle
+     *                       letter first
      */
-    private void initStarterLetters() {
-        String starterWord;
-        // generates a word from the SpellingBeeWords file
+    public SpellingBeeGame(WordListDisplay wordListDisplay, String starterLetters) {
+        this.wordListDisplay = wordListDisplay;
+        dictionary = new WordList(0);
+        this.starterLetters = starterLetters;
+
         try {
-            starterWord = findSolutionWord("SpellingBeeWords.txt");
+            initDictionary();
         } catch (FileNotFoundException e) {
-            starterWord = "helpful";
+            LOG.error("Couldn't load the Spelling Bee dictionary", e);
         }
+    }
 
-        dictionary.add(new Word(starterWord, true));
-        starterWord = removeDuplicateLetters(starterWord);
-        starterLetters = chooseMiddleLetter(starterWord);
+    /**
+     * initializes starterletters with a random puzzle from the catalog
+     */
+    private void initStarterLetters() {
+        try {
+            PuzzleCatalog puzzles = getCatalog();
+            int puzzle = puzzles.randomPuzzle(distGen);
+            if (puzzle >= 0) {
+                starterLetters = puzzles.getStarterLetters(puzzle);
+                return;
+            }
+            LOG.warn("The puzzle catalog is empty, using a fixed puzzle");
+        } catch (IOException e) {
+            LOG.error("Couldn't load the puzzle catalog, using a fixed puzzle", e);
+        }
+        starterLetters = chooseMiddleLetter(removeDuplicateLetters("helpful"));
     }
 
     /**
-     * adds all possible words to the dictionary
+     * gets the shared puzzle catalog, building the catalog file the first
+     * time the game is ever run
+     * 
+     * @return the catalog
+     * @throws IOException if the dictionary or the catalog can't be loaded
+     */
+    private static synchronized PuzzleCatalog getCatalog() throws IOException {
+        if (catalog == null) {
+            catalog = new PuzzleCatalogBuilder().build(BeeDictionary.get(),
+                    Paths.get(PuzzleCatalogBuilder.PUZZLE_FILE));
+        }
+        return catalog;
+    }
+
+    /**
+     * fills a new dictionary with all possible words and then swaps it in.
+     * Every dictionary word's letters are already known as a mask, so the
+     * answers are found by comparing masks and the text of the dictionary is
+     * never looked at here
      * 
      * @throws FileNotFoundException
      */
     private void initDictionary() throws FileNotFoundException {
-        // goes through the common_words file
-        try (Scanner in = new Scanner(new File("common_words.txt"))) {
-            String next = in.nextLine();
-
-            while (in.hasNext()) {
-                next = in.nextLine();
-                checkAddWordForDictionary(next);
-            }
-          
-        } catch (Exception e) {
-            throw new FileNotFoundException();
+        BeeDictionary shared;
+        try {
+            shared = BeeDictionary.get();
+        } catch (IOException e) {
+            throw new FileNotFoundException(e.getMessage());
+        }
+        WordList answers = new WordList(0);
+        for (Word word : shared.answersFor(getLetterMask(), getMiddleMask())) {
+            answers.add(word);
         }
-        // goes through the englishWords file
-        try (Scanner in = new Scanner(new File("EnglishWords.txt"))) {
-            String next = in.nextLine();
+        beeDictionary = shared;
+        dictionary = answers;
+    }
 
-            while (in.hasNext()) {
-                next = in.nextLine();
-                checkAddWordForDictionary(next);
-            }
-          
-        } catch (Exception e) {
-            throw new FileNotFoundException();
+    /**
+     * switches to a new puzzle and clears the found words. The answers come
+     * from the letter index, so this is about as quick as setting the
+     * letters. Only called on the event dispatch thread, which owns the word
+     * list display
+     * 
+     * @param starterLetters seven different lowercase letters, the middle
+     *                       letter first
+     */
+    public void switchPuzzle(String starterLetters) {
+        this.starterLetters = starterLetters;
+        wordListDisplay.clear();
+        try {
+            initDictionary();
+        } catch (FileNotFoundException e) {
+            LOG.error("Couldn't load the Spelling Bee dictionary", e);
         }
     }
   
@@ -135,6 +214,24 @@ public class SpellingBeeGame {
         return this.starterLetters;
     }
 
+    /**
+     * gets the honeycomb letters as a mask
+     * 
+     * @return a mask with bit 0 set for 'a' up to bit 25 for 'z'
+     */
+    private int getLetterMask() {
+        return BeeDictionary.maskOf(starterLetters);
+    }
+
+    /**
+     * gets the middle letter as a mask
+     * 
+     * @return a mask with only the middle letter's bit set
+     */
+    private int getMiddleMask() {
+        return BeeDictionary.maskOf(starterLetters.substring(0, 1));
+    }
+
     /**
      * takes in a string and removes any duplicate letters
      * 
@@ -189,11 +286,132 @@ public class SpellingBeeGame {
      * @return an int as described above
      */
     public int checkAddWord(String wordToAdd) {
+        WordCheckEvent event = new WordCheckEvent();
+        event.begin();
+        int errorType = checkWord(wordToAdd);
+        if (errorType == 0) {
+            errorType = addFoundWord(wordToAdd);
+        }
+        commit(event, wordToAdd, errorType);
+        return errorType;
+    }
+
+    /**
+     * checks a word on a worker thread and hands back the same number
+     * checkAddWord would. The word is added to the found words, and the
+     * result given, on the event dispatch thread, so the window keeps
+     * painting while the word is looked up
+     *
+     * @param wordToAdd the word the player entered
+     * @param result given the number described in checkAddWord, or 6 if the
+     *               word couldn't be checked
+     */
+    public void submitWord(String wordToAdd, IntConsumer result) {
+        String letters = starterLetters;
+        PIPELINE.submit(new ActionPipeline.Action() {
+            @Override
+            public void run(ViewBatch batch) {
+                // the event covers only the check, so it starts and ends on
+                // this thread; whether the word was already found is decided
+                // later, on the event dispatch thread
+                WordCheckEvent event = new WordCheckEvent();
+                event.begin();
+                int errorType = checkWord(wordToAdd, letters);
+                commit(event, wordToAdd, errorType);
+                batch.add(() -> {
+                    int code = errorType != 0 ? errorType : addFoundWord(wordToAdd);
+                    result.accept(code);
+                });
+            }
+
+            @Override
+            public void onFailure(Exception failure, ViewBatch batch) {
+                batch.add(() -> result.accept(6));
+            }
+        });
+    }
+
+    /**
+     * ends a word check's flight recorder event and records it if a recording
+     * wants it
+     *
+     * @param event the event, already begun
+     * @param word the word that was checked
+     * @param resultCode the number described in checkAddWord, or what
+     *                   checkWord returned for a word checked on the worker
+     */
+    private static void commit(WordCheckEvent event, String word, int resultCode) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.word = word;
+            event.resultCode = resultCode;
+            event.commit();
+        }
+    }
+
+    /**
+     * adds a word that has passed checkWord to the found words. Only called on
+     * the event dispatch thread, which owns the word list display
+     *
+     * @param wordToAdd a word that passed checkWord
+     * @return 2 if it was already found, otherwise 0
+     */
+    private int addFoundWord(String wordToAdd) {
+        int mask = BeeDictionary.maskOf(wordToAdd);
+        Word word = new Word(wordToAdd, BeeDictionary.isPangram(mask));
+        if (wordListDisplay.getWordList().contains(word)) {
+            return 2;
+        }
+        wordListDisplay.add(word);
+        return 0;
+    }
+
+    /**
+     * does every check in checkAddWord except whether the word was already
+     * found. A found word is always in the dictionary, so checking for it
+     * afterwards gives the same answer
+     *
+     * @param wordToAdd the word the player entered
+     * @return 1, 3, 4 or 5 as described in checkAddWord, or 0 if the word is
+     *         good
+     */
+    private int checkWord(String wordToAdd) {
+        return checkWord(wordToAdd, starterLetters);
+    }
+
+    /**
+     * does every check in checkAddWord except whether the word was already
+     * found, against the letters the puzzle had when the word was entered
+     *
+     * @param wordToAdd the word the player entered
+     * @param starterLetters the puzzle's letters, the middle letter first
+     * @return 1, 3, 4 or 5 as described in checkAddWord, or 0 if the word is
+     *         good
+     */
+    private int checkWord(String wordToAdd, String starterLetters) {
+        long start = System.nanoTime();
+        int errorType = checkLetters(wordToAdd, starterLetters);
+        CHECK_TIME.recordSince(start);
+        if (errorType != 0) {
+            REJECTED_WORDS.increment();
+        }
+        return errorType;
+    }
+
+    /**
+     * the checks behind checkWord
+     *
+     * @param wordToAdd the word the player entered
+     * @param starterLetters the puzzle's letters, the middle letter first
+     * @return 1, 3, 4 or 5 as described in checkAddWord, or 0 if the word is
+     *         good
+     */
+    private int checkLetters(String wordToAdd, String starterLetters) {
         //convert to lowercase
         String lowerCase= wordToAdd.toLowerCase(); 
-        System.out.println("Word to add: " + lowerCase);
-        System.out.println("Starter letters: " + starterLetters);
-        System.out.println("Middle letter present: " + (lowerCase.indexOf(starterLetters.charAt(0)) >= 0));
+        LOG.debug("Word to add: {}", lowerCase);
+        LOG.debug("Starter letters: {}", starterLetters);
+        LOG.debug("Middle letter present: {}", lowerCase.indexOf(starterLetters.charAt(0)) >= 0);
 
         // checks if word is too short
         if (wordToAdd.length() < 4) {
@@ -201,38 +419,28 @@ public class SpellingBeeGame {
         }
         // checks if word has middle letter
         else if (wordToAdd.indexOf(starterLetters.charAt(0)) < 0) {
-            System.out.println("Middle letter present: false");
+            LOG.debug("Middle letter present: false");
             return 3;
         
         } else {
-            boolean willBePangram = false;
             String wordToCheck = removeDuplicateLetters(wordToAdd);
-            int letterCount = 0;
-            // for loop checks for both pangram status
-            // and for letters not in the honeycomb
+            // checks for letters not in the honeycomb
             for (int i = 0; i < wordToCheck.length(); i++) {
                 char currentLetter = wordToCheck.charAt(i);
-                System.out.println("Checking letter: " + currentLetter);
                 boolean inHoneycomb = starterLetters.indexOf(currentLetter) >= 0;
-                System.out.println("Is in honeycomb: " + inHoneycomb);
+                LOG.trace("Checking letter: {}, is in honeycomb: {}", currentLetter, inHoneycomb);
                 if (!inHoneycomb) {
                     return 5;
                 }
-                letterCount++;
-            }
-            // if we've gotten to this point, the word is a pangram
-            if (letterCount == 7) {
-                willBePangram = true;
             }
-            Word word = new Word(wordToAdd, willBePangram);
-            if (wordListDisplay.getWordList().contains(word)) {
-                return 2;
-            }
-            if (!(dictionary.contains(word))) {
+            // the index only has to look at the words with the same letters
+            boolean inDictionary = beeDictionary != null
+                    ? beeDictionary.contains(lowerCase)
+                    : dictionary.contains(lowerCase);
+            if (!inDictionary) {
                 return 1;
             }
          // if we've gotten this far, word is good to be added
-            wordListDisplay.add(word);
             return 0;
         }
     }
@@ -240,25 +448,6 @@ public class SpellingBeeGame {
             
             
 
-    /**
-     * reads in a random word from SpellingBeeWords.txt
-     * 
-     * @param filename should be "sepllingBeeWords.txt"
-     * @return a pangram string
-     * @throws FileNotFoundException
-     */
-    private String findSolutionWord(String filename)
-            throws FileNotFoundException {
-        try (Scanner in = new Scanner(new File(filename))) {
-            String next = in.nextLine();
-            int stopPoint = distGen.nextInt(0, SPELLING_BEE_FILE_LENGTH);
-            for (int i = 0; i < stopPoint; i++) {
-                next = in.nextLine();
-            }
-            return next;
-        }
-    } 
-      
     /**
      * a method very similar to checkAddWord, but instead adds the word to the
      * dictionary
@@ -267,30 +456,17 @@ public class SpellingBeeGame {
      * @return return true if word was added, false otherwise
      */
     public boolean checkAddWordForDictionary(String wordToAdd) {
-        // checks if word is too short
-        if (!(wordToAdd.length() < 4)
-                && !(wordToAdd.indexOf(starterLetters.charAt(0)) < 0)) {
-            boolean willBePangram = false;
-            String wordToCheck = removeDuplicateLetters(wordToAdd);
-            int letterCount = 0;
-            // for loop checks for both pangram status
-            // and for letters not in the honeycomb
-            for (int i = 0; i < wordToCheck.length(); i++) {
-                // if a letter isn't in the honeycomb
-                if (starterLetters.indexOf(wordToAdd.charAt(i)) < 0) {
-                    return false;
-                }
-                letterCount++;
-            }
-            // if we've gotten to this point, the word is a pangram
-            if (letterCount == 7) {
-                willBePangram = true;
-            }
-            // if we've gotten this far, word is good to be added
-            dictionary.add(new Word(wordToAdd, willBePangram));
-            return true;
+        // checks if word is too short, or uses letters outside the honeycomb
+        // or leaves out the middle letter
+        int mask = BeeDictionary.maskOf(wordToAdd);
+        if (wordToAdd.length() < BeeDictionary.MIN_LENGTH
+                || !BeeDictionary.fits(mask, getLetterMask(), getMiddleMask())) {
+            return false;
         }
-        return false;
+        // if we've gotten this far, word is good to be added, and it uses
+        // all seven letters if it is a pangram
+        dictionary.add(new Word(wordToAdd, BeeDictionary.isPangram(mask)));
+        return true;
     }
 
 }
@@ -1,13 +1,39 @@
 package spellingBee.model;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 
-public class WordList {
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+
+/**
+ * A list of words with no duplicates. Words keep the order they were added
+ * in, a hash set makes checking for a word take the same time however long
+ * the list gets, and an alphabetical copy is kept up to date as words are
+ * added.
+ */
+public class WordList implements Iterable<Word> {
+
+    /**
+     * how big lists are when they are searched
+     */
+    private static final Histogram CONTAINS_SIZE = MetricsRegistry.histogram("spellingBee.wordList.containsSize");
 
     ArrayList<Word> words;
 
+    /**
+     * the text of every word in the list, for quick lookups
+     */
+    private HashSet<String> members;
+
+    /**
+     * the words in alphabetical order
+     */
+    private ArrayList<Word> sorted;
+
     /**
      * creates a wordList of input size wordlist will expand if more words than
      * size are added
@@ -16,6 +42,8 @@ public class WordList {
      */
     public WordList(int size) {
         words = new ArrayList<Word>(size);
+        members = new HashSet<String>(Math.max(16, size * 2));
+        sorted = new ArrayList<Word>(size);
     }
 
     /**
@@ -24,17 +52,25 @@ public class WordList {
      * @param word word to initialize with
      */
     public WordList(Word word) {
-        words = new ArrayList<Word>();
-        words.add(word);
+        this(1);
+        add(word);
     }
 
     /**
-     * adds a word to the list
+     * adds a word to the list, unless it is already there
      * 
      * @param word the word to be added
+     * @return true if the word was added, false if it was a duplicate
      */
-    public void add(Word word) {
+    public boolean add(Word word) {
+        if (!members.add(word.toString())) {
+            return false;
+        }
         words.add(word);
+        // finds the word's place in the alphabetical copy without a full sort
+        int place = Collections.binarySearch(sorted, word);
+        sorted.add(-place - 1, word);
+        return true;
     }
 
     /**
@@ -48,12 +84,14 @@ public class WordList {
     }
 
     /**
-     * adds a word to the WordList, baypasses alphebatization
+     * adds a word to the WordList. This is now the same as add: the list
+     * keeps its alphabetical copy up to date for every word
      * 
      * @param word the word to be added
+     * @return true if the word was added, false if it was a duplicate
      */
-    public void directlyAdd (Word word) {
-    	words.add(word);
+    public boolean directlyAdd (Word word) {
+    	return add(word);
     }	
 
 
@@ -64,12 +102,19 @@ public class WordList {
      * @return true if the word exists, false otherwise
      */
     public boolean contains(Word word) {
-    	for (Word thisWord : words) {
-    		if (thisWord.compareTo(word) == 0) {
-    			return true;
-    		}
-    	}
-    	return false;
+        CONTAINS_SIZE.record(words.size());
+        return members.contains(word.toString());
+    }
+
+    /**
+     * checks if a certain word is in the list
+     * 
+     * @param word the text of the word to find
+     * @return true if the word exists, false otherwise
+     */
+    public boolean contains(String word) {
+        CONTAINS_SIZE.record(words.size());
+        return members.contains(word);
     }
 
     /**
@@ -80,4 +125,23 @@ public class WordList {
     public int getSize() {
         return words.size();
     }
+
+    /**
+     * a getter for the words in alphabetical order
+     * 
+     * @return a read-only view that stays sorted as words are added
+     */
+    public List<Word> getSorted() {
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * goes through the words in the order they were added
+     * 
+     * @return a read-only iterator
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return Collections.unmodifiableList(words).iterator();
+    }
 }
@@ -1,15 +1,32 @@
 package spellingBee.view;
 
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Polygon;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 import javax.swing.JComponent;
 
+import animation.Animation;
+import animation.AnimationScheduler;
+import events.PaintEvent;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+
 /**
  * a swing component that creates a seven-hexagon shape that forms a honeycomb
  * pattern it contains letters in the middle of each hexagon and can shuffle
- * these letters on screen
+ * these letters on screen. The hexagons are worked out once and each letter's
+ * hexagon is drawn once into an image, so painting is seven image copies.
+ * Clicking a hexagon tells the listeners which letter was clicked.
  */
 public class Honeycomb extends JComponent {
 
@@ -17,7 +34,7 @@ public class Honeycomb extends JComponent {
      * the letters that the honeycomb will display the very first letter is the
      * one in the middle
      */
-    private String letters;
+    private char[] letters;
 
     /**
      * the left-most x-coordinate of the entire honeycomb
@@ -57,11 +74,74 @@ public class Honeycomb extends JComponent {
      */
     private static final int SPACE_BETWEEN = 3;
 
+    /**
+     * the yellow of the middle hexagon
+     */
+    private static final Color MIDDLE_COLOR = new Color(238, 217, 51);
+
+    /**
+     * the number of hexagons
+     */
+    private static final int HEXAGON_COUNT = 7;
+
+    /**
+     * how long painting the honeycomb takes
+     */
+    private static final Histogram PAINT_TIME = MetricsRegistry.timer("spellingBee.paint.honeycomb");
+
+    /**
+     * how long a hexagon pulses for when it is clicked
+     */
+    private static final int PULSE_MILLIS = 200;
+
+    /**
+     * how far a pulsing hexagon shrinks
+     */
+    private static final double PULSE_DEPTH = 0.1;
+
+    /**
+     * which letter goes in each hexagon, in the order top, first row left,
+     * first row right, middle, second row left, second row right, bottom
+     */
+    private static final int[] LETTER_OF_HEXAGON = { 1, 2, 3, 0, 4, 5, 6 };
+
     /**
      * a random generator that is used for the shuffle functionality
      */
     private Random distGen = new Random();
 
+    /**
+     * the upper left-hand corner of each hexagon
+     */
+    private final int[] hexagonLeft = new int[HEXAGON_COUNT];
+    private final int[] hexagonTop = new int[HEXAGON_COUNT];
+
+    /**
+     * the outline of each hexagon where it sits on screen, for hit-testing
+     */
+    private final Polygon[] hexagons = new Polygon[HEXAGON_COUNT];
+
+    /**
+     * a gray hexagon for each letter from A to Z, drawn the first time it is
+     * needed
+     */
+    private final BufferedImage[] grayImages = new BufferedImage[26];
+
+    /**
+     * the yellow middle hexagon, drawn the first time it is needed
+     */
+    private BufferedImage middleImage;
+
+    /**
+     * how big each hexagon is drawn while it pulses, 1 when it isn't pulsing
+     */
+    private final double[] hexagonScale = { 1, 1, 1, 1, 1, 1, 1 };
+
+    /**
+     * the listeners told when a letter is clicked
+     */
+    private final List<HoneycombListener> listeners = new ArrayList<HoneycombListener>();
+
     /**
      * creates a honeycomb component in yellow and grayscale
      * 
@@ -74,57 +154,77 @@ public class Honeycomb extends JComponent {
         super();
         this.leftX = leftX;
         this.topY = topY;
-        this.letters = letters.toUpperCase();
+        this.letters = letters.toUpperCase().toCharArray();
         if (letters.length() != 7) {
             throw new IllegalArgumentException(
                     "honeycomb letters must be length 7");
         }
+        initGeometry();
+
+        // tells the listeners about clicks that land on a hexagon
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int hexagon = hexagonAt(e.getX(), e.getY());
+                if (hexagon >= 0) {
+                    pulse(hexagon);
+                    char letter = letterAt(e.getX(), e.getY());
+                    for (HoneycombListener listener : listeners) {
+                        listener.letterClicked(letter);
+                    }
+                }
+            }
+        });
     }
 
     /**
-     * draws seven hexagons in a honeycomb pattern each contains a letter from
-     * the letters String
-     * 
-     * @param g Graphics
+     * works out where each hexagon goes. The honeycomb never moves, so this
+     * only happens once
      */
-    public void paintComponent(Graphics g) {
+    private void initGeometry() {
         // top
-        drawHexagon(g, leftX + HEXAGON_WIDTH - X_OFFSET, topY,
-                letters.substring(1, 2));
+        setHexagon(0, leftX + HEXAGON_WIDTH - X_OFFSET, topY);
         // firstRowLeft
-        drawHexagon(g, leftX, topY + (HEXAGON_HEIGHT / 2) + SPACE_BETWEEN,
-                letters.substring(2, 3));
+        setHexagon(1, leftX, topY + (HEXAGON_HEIGHT / 2) + SPACE_BETWEEN);
         // firstRowRight
-        drawHexagon(g,
-                leftX + (HEXAGON_WIDTH * 2) - (X_OFFSET * 2) + SPACE_BETWEEN,
-                topY + (HEXAGON_HEIGHT / 2), letters.substring(3, 4));
+        setHexagon(2, leftX + (HEXAGON_WIDTH * 2) - (X_OFFSET * 2) + SPACE_BETWEEN,
+                topY + (HEXAGON_HEIGHT / 2));
         // yellowMiddle
-        drawMiddleHexagon(g, leftX + HEXAGON_WIDTH - X_OFFSET + SPACE_BETWEEN,
+        setHexagon(3, leftX + HEXAGON_WIDTH - X_OFFSET + SPACE_BETWEEN,
                 topY + (HEXAGON_HEIGHT) + (SPACE_BETWEEN));
         // secondRowLeft
-        drawHexagon(g, leftX, topY + HEXAGON_HEIGHT + (HEXAGON_HEIGHT / 2)
-                + (SPACE_BETWEEN * 2), letters.substring(4, 5));
+        setHexagon(4, leftX, topY + HEXAGON_HEIGHT + (HEXAGON_HEIGHT / 2)
+                + (SPACE_BETWEEN * 2));
         // secondRowRight
-        drawHexagon(g,
-                leftX + (HEXAGON_WIDTH * 2) - (X_OFFSET * 2)
-                        + (SPACE_BETWEEN * 2),
-                topY + HEXAGON_HEIGHT + (HEXAGON_HEIGHT / 2) + (SPACE_BETWEEN),
-                letters.substring(5, 6));
+        setHexagon(5, leftX + (HEXAGON_WIDTH * 2) - (X_OFFSET * 2)
+                + (SPACE_BETWEEN * 2),
+                topY + HEXAGON_HEIGHT + (HEXAGON_HEIGHT / 2) + (SPACE_BETWEEN));
         // bottomRight
-        drawHexagon(g, leftX + HEXAGON_WIDTH - X_OFFSET + (SPACE_BETWEEN),
-                topY + (HEXAGON_HEIGHT * 2) + (SPACE_BETWEEN * 2),
-                letters.substring(6));
+        setHexagon(6, leftX + HEXAGON_WIDTH - X_OFFSET + (SPACE_BETWEEN),
+                topY + (HEXAGON_HEIGHT * 2) + (SPACE_BETWEEN * 2));
+    }
 
+    /**
+     * places one hexagon
+     * 
+     * @param i    the hexagon, see LETTER_OF_HEXAGON
+     * @param left the x value of the upper left-hand corner
+     * @param top  the y value of the upper left-hand corner
+     */
+    private void setHexagon(int i, int left, int top) {
+        hexagonLeft[i] = left;
+        hexagonTop[i] = top;
+        hexagons[i] = makeHexagon(left, top);
     }
 
     /**
-     * draws a hexagon with the top-left corner at the sepcified location
+     * makes a hexagon with the top-left corner at the sepcified location
      * 
-     * @param g    Graphics
      * @param left the x value of the upper left-hand corner
      * @param top  the y value of the upper left-hand corner
+     * @return the hexagon
      */
-    private void drawHexagon(Graphics g, int left, int top, String letter) {
+    private static Polygon makeHexagon(int left, int top) {
         // adding the six points that will make up the polygon
         // the points start at the upper lefthand corner
         // and go counterclockwise
@@ -143,68 +243,171 @@ public class Honeycomb extends JComponent {
                 (top + (HEXAGON_HEIGHT / 2)));
         // topRight
         hex.addPoint((left + X_OFFSET + (HEXAGON_WIDTH / 2)), top);
+        return hex;
+    }
 
-        g.setColor(Color.LIGHT_GRAY);
-        g.fillPolygon(hex);
-        g.setColor(Color.BLACK);
-        g.drawString(letter, left + (HEXAGON_WIDTH / 2),
-                top + (HEXAGON_HEIGHT / 2));
+    /**
+     * draws seven hexagons in a honeycomb pattern each contains a letter from
+     * the letters String
+     * 
+     * @param g Graphics
+     */
+    public void paintComponent(Graphics g) {
+        PaintEvent event = new PaintEvent();
+        event.begin();
+        long start = System.nanoTime();
+        for (int i = 0; i < HEXAGON_COUNT; i++) {
+            if (hexagonScale[i] < 1.0) {
+                // shrunk toward its middle while it pulses
+                int width = (int) ((HEXAGON_WIDTH + 1) * hexagonScale[i]);
+                int height = (int) ((HEXAGON_HEIGHT + 1) * hexagonScale[i]);
+                g.drawImage(getHexagonImage(i),
+                        hexagonLeft[i] + (HEXAGON_WIDTH + 1 - width) / 2,
+                        hexagonTop[i] + (HEXAGON_HEIGHT + 1 - height) / 2,
+                        width, height, null);
+            } else {
+                g.drawImage(getHexagonImage(i), hexagonLeft[i], hexagonTop[i], null);
+            }
+        }
+        PAINT_TIME.recordSince(start);
+        event.finish("Honeycomb", g);
     }
 
     /**
-     * draws a yellow hexagon with the middle letter
+     * gets the picture of one hexagon with its current letter
      * 
-     * @param g    Graphics
-     * @param left the x value of the upper left-hand corner
-     * @param top  the y value of the upper left-hand corner
+     * @param i the hexagon, see LETTER_OF_HEXAGON
+     * @return the picture
      */
-    private void drawMiddleHexagon(Graphics g, int left, int top) {
-        // adding the six points that will make up the polygon
-        // the points start at the upper lefthand corner
-        // and go counterclockwise
-        Polygon hex = new Polygon();
-        // topLeft
-        hex.addPoint(left + X_OFFSET, top);
-        // middleLeft
-        hex.addPoint((left + X_OFFSET - X_OFFSET), top + (HEXAGON_HEIGHT / 2));
-        // bottomLeft
-        hex.addPoint(left + X_OFFSET, (top + HEXAGON_HEIGHT));
-        // bottomRight
-        hex.addPoint(left + X_OFFSET + (HEXAGON_WIDTH / 2),
-                (top + HEXAGON_HEIGHT));
-        // middleRight
-        hex.addPoint((left + (HEXAGON_WIDTH / 2) + (X_OFFSET * 2)),
-                (top + (HEXAGON_HEIGHT / 2)));
-        // topRight
-        hex.addPoint((left + X_OFFSET + (HEXAGON_WIDTH / 2)), top);
+    private BufferedImage getHexagonImage(int i) {
+        char letter = letters[LETTER_OF_HEXAGON[i]];
+        if (LETTER_OF_HEXAGON[i] == 0) {
+            if (middleImage == null) {
+                middleImage = drawHexagon(letter, MIDDLE_COLOR);
+            }
+            return middleImage;
+        }
+        int index = letter - 'A';
+        if (index < 0 || index >= grayImages.length) {
+            // not a letter, so it isn't worth keeping
+            return drawHexagon(letter, Color.LIGHT_GRAY);
+        }
+        if (grayImages[index] == null) {
+            grayImages[index] = drawHexagon(letter, Color.LIGHT_GRAY);
+        }
+        return grayImages[index];
+    }
+
+    /**
+     * throws away the cached hexagons so they are drawn again in the new font
+     * 
+     * @param font the new font
+     */
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        // the look and feel can set a font before the fields are made
+        if (grayImages != null) {
+            Arrays.fill(grayImages, null);
+            middleImage = null;
+            repaint();
+        }
+    }
 
-        g.setColor(new Color(238, 217, 51));
-        g.fillPolygon(hex);
+    /**
+     * draws a hexagon with a letter into an image
+     * 
+     * @param letter the letter
+     * @param color  the color of the hexagon
+     * @return the picture
+     */
+    private BufferedImage drawHexagon(char letter, Color color) {
+        BufferedImage image = new BufferedImage(HEXAGON_WIDTH + 1,
+                HEXAGON_HEIGHT + 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        // an image has none of the desktop's hints, so ask for smooth text
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(color);
+        g.fillPolygon(makeHexagon(0, 0));
         g.setColor(Color.BLACK);
-        g.drawString(letters.substring(0, 1), left + (HEXAGON_WIDTH / 2),
-                top + (HEXAGON_HEIGHT / 2));
+        if (getFont() != null) {
+            g.setFont(getFont());
+        }
+        g.drawString(String.valueOf(letter), HEXAGON_WIDTH / 2,
+                HEXAGON_HEIGHT / 2);
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * finds the letter under a point, using the hexagons worked out when the
+     * honeycomb was made
+     * 
+     * @param x the x value of the point
+     * @param y the y value of the point
+     * @return the letter in lower case, or 0 if the point isn't on a hexagon
+     */
+    public char letterAt(int x, int y) {
+        int hexagon = hexagonAt(x, y);
+        if (hexagon < 0) {
+            return 0;
+        }
+        return Character.toLowerCase(letters[LETTER_OF_HEXAGON[hexagon]]);
+    }
+
+    /**
+     * finds the hexagon under a point
+     * 
+     * @param x the x value of the point
+     * @param y the y value of the point
+     * @return the hexagon, see LETTER_OF_HEXAGON, or -1 if there isn't one
+     */
+    private int hexagonAt(int x, int y) {
+        for (int i = 0; i < HEXAGON_COUNT; i++) {
+            if (hexagons[i].contains(x, y)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * shrinks a hexagon a little and lets it spring back
+     * 
+     * @param hexagon the hexagon, see LETTER_OF_HEXAGON
+     */
+    private void pulse(int hexagon) {
+        AnimationScheduler.getShared().start(new Animation(this,
+                hexagons[hexagon].getBounds(), 0, PULSE_MILLIS) {
+            @Override
+            protected void update(double progress) {
+                hexagonScale[hexagon] = 1.0 - PULSE_DEPTH * Math.sin(Math.PI * progress);
+            }
+        });
+    }
+
+    /**
+     * subscribes to letter clicks
+     * 
+     * @param listener the listener to add
+     */
+    public void addHoneycombListener(HoneycombListener listener) {
+        listeners.add(listener);
     }
 
     /**
      * shuffles the outside letters of the honeycomb
      */
     public void shuffle() {
-        String toShuffle = letters.substring(1);
-        letters = new String(letters.substring(0, 1));
-        // adds outside honeycomb chars to letters randomly
-        for (int i = 5; i > 0; i--) {
-            int rand = distGen.nextInt(0, i);
-
-            if (rand == i) {
-                letters = letters + (toShuffle.substring(rand));
-                toShuffle = toShuffle.substring(0, rand);
-            } else {
-                letters = letters + (toShuffle.substring(rand, rand + 1));
-                toShuffle = toShuffle.substring(0, rand)
-                        + toShuffle.substring(rand + 1);
-            }
+        // swaps each outside letter with a random one at or before it,
+        // leaving the middle letter where it is
+        for (int i = letters.length - 1; i > 1; i--) {
+            int rand = 1 + distGen.nextInt(i);
+            char swap = letters[i];
+            letters[i] = letters[rand];
+            letters[rand] = swap;
         }
-        letters = letters + toShuffle;
         repaint();
     }
 
@@ -0,0 +1,14 @@
+package spellingBee.view;
+
+/**
+ * The interface for the honeycomb to tell the game which letter was clicked
+ */
+public interface HoneycombListener {
+
+    /**
+     * This method is invoked when a hexagon in the honeycomb is clicked
+     * 
+     * @param letter the letter in the hexagon, in lower case
+     */
+    void letterClicked(char letter);
+}
@@ -1,79 +1,261 @@
 package spellingBee.view;
 
 import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Insets;
+import java.awt.Rectangle;
 
 import javax.swing.JComponent;
-import javax.swing.JEditorPane;
-import javax.swing.JPanel;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.UIManager;
 
+import events.PaintEvent;
 import spellingBee.model.Word;
 import spellingBee.model.WordList;
 
-public class WordListDisplay extends JEditorPane{
-    
+/**
+ * shows the words found so far under a score header, one word per row with
+ * pangrams in bold. Only the rows that can be seen are painted, and adding
+ * a word repaints just the header and the new row, so the list stays quick
+ * however many words are found. Put it in a JScrollPane to scroll.
+ */
+public class WordListDisplay extends JComponent implements Scrollable {
+
+    /**
+     * the rows above the first word: the score and a blank line
+     */
+    private static final int HEADER_ROWS = 2;
+
+    /**
+     * the gap between the left edge and the text
+     */
+    private static final int LEFT_MARGIN = 4;
+
+    /**
+     * the widest the display asks to be
+     */
+    private static final int PREFERRED_WIDTH = 200;
+
     private WordList wordList;
-    String words;
     int score;
 
+    /**
+     * the font pangrams are drawn in
+     */
+    private Font boldFont;
+
     /**
      * initializes a display with wordList
      * @param wordList the WordList to be displayed
      */
     public WordListDisplay(WordList wordList) {
-        super.setContentType("text/html");
         this.wordList = wordList;
-        updateWordsString();
         score= wordList.getSize();
+        initFonts();
     }
-    
+
     /**
      * initializes a display with a starter word
      * @param word the word to be displayed
      */
     public WordListDisplay(Word word) {
-        super.setContentType("text/html");
         wordList = new WordList(word);
-        updateWordsString();
         score = 1;
-        
+        initFonts();
     }
-    
+
     /**
      * intializes a display with an empty word list
      */
     public WordListDisplay() {
-        super.setContentType("text/html");
         wordList = new WordList(0);
-        words = new String();
         score = 0;
+        initFonts();
+    }
+
+    /**
+     * sets up the plain and bold fonts and the white background the list is
+     * drawn on
+     */
+    private void initFonts() {
+        Font font = UIManager.getFont("EditorPane.font");
+        if (font == null) {
+            font = new Font(Font.SANS_SERIF, Font.PLAIN, 12);
+        }
+        setFont(font);
+        setBackground(Color.WHITE);
+        setForeground(Color.BLACK);
+        setOpaque(true);
     }
-    
+
     /**
-     * adds a word to the display
+     * keeps the bold font in step with the plain one
+     * @param font the new plain font
+     */
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        boldFont = font == null ? null : font.deriveFont(Font.BOLD);
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * adds a word to the display, repainting only the score and the new row
      * @param word word to be added to the display
      */
     public void add (Word word) {
-        wordList.add(word);
+        if (!wordList.add(word)) {
+            return;
+        }
         score++;
-        updateWordsString();
+        // the list grew by a row, so the scroll pane needs the new size
+        revalidate();
+        repaint(rowBounds(0));
+        repaint(rowBounds(HEADER_ROWS + wordList.getSize() - 1));
+    }
+
+    /**
+     * removes every word from the display, for when a new puzzle starts
+     */
+    public void clear() {
+        wordList = new WordList(0);
+        score = 0;
+        revalidate();
+        repaint();
     }
-    
+
     /**
-     * updates the text displayed by the editor pane
+     * paints only the rows inside the area being repainted
+     * @param g the graphics to draw with
      */
-    private void updateWordsString() {
-        words = new String (" You have found "+score+" words!"+"<br> <br>");
-        for(int i=0; i<wordList.getSize(); i++) {
-            if(wordList.get(i).isPangram()) {
-                words = words +("<b> "+wordList.get(i).toString()+"</b> <br>");
-            } else {
-                words = words + (" "+wordList.get(i).toString() +"<br>");
+    @Override
+    protected void paintComponent(Graphics g) {
+        PaintEvent event = new PaintEvent();
+        event.begin();
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        Insets insets = getInsets();
+        int rowHeight = getRowHeight();
+        int rows = HEADER_ROWS + wordList.getSize();
+        int first = Math.max(0, (clip.y - insets.top) / rowHeight);
+        int last = Math.min(rows - 1, (clip.y + clip.height - insets.top) / rowHeight);
+
+        g.setColor(getForeground());
+        int ascent = g.getFontMetrics(getFont()).getAscent();
+        for (int row = first; row <= last; row++) {
+            int baseline = insets.top + row * rowHeight + ascent;
+            if (row == 0) {
+                g.setFont(getFont());
+                g.drawString("You have found " + score + " words!",
+                        insets.left + LEFT_MARGIN, baseline);
+            } else if (row >= HEADER_ROWS) {
+                Word word = wordList.get(row - HEADER_ROWS);
+                g.setFont(word.isPangram() ? boldFont : getFont());
+                g.drawString(word.toString(), insets.left + LEFT_MARGIN, baseline);
             }
         }
-        this.setText(words);
+        event.finish("WordListDisplay", g);
     }
-    
+
+    /**
+     * works out the height of one row from the font
+     * @return the row height in pixels
+     */
+    private int getRowHeight() {
+        FontMetrics metrics = getFontMetrics(boldFont != null ? boldFont : getFont());
+        return Math.max(1, metrics.getHeight());
+    }
+
+    /**
+     * works out where a row is drawn
+     * @param row the row, 0 for the score
+     * @return the row's area
+     */
+    private Rectangle rowBounds(int row) {
+        Insets insets = getInsets();
+        int rowHeight = getRowHeight();
+        return new Rectangle(0, insets.top + row * rowHeight, getWidth(), rowHeight);
+    }
+
+    /**
+     * the display is as tall as all its rows
+     * @return the preferred size
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        return new Dimension(PREFERRED_WIDTH + insets.left + insets.right,
+                (HEADER_ROWS + wordList.getSize()) * getRowHeight()
+                        + insets.top + insets.bottom);
+    }
+
+    /**
+     * a getter for the size to show the display at in a scroll pane
+     * @return the preferred size
+     */
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    /**
+     * scrolls one row at a time
+     * @param visibleRect the area that can be seen
+     * @param orientation which way the scroll pane is scrolling
+     * @param direction up or down
+     * @return the row height
+     */
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect,
+            int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? getRowHeight() : 1;
+    }
+
+    /**
+     * scrolls one screenful at a time
+     * @param visibleRect the area that can be seen
+     * @param orientation which way the scroll pane is scrolling
+     * @param direction up or down
+     * @return the visible height
+     */
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect,
+            int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height
+                : visibleRect.width;
+    }
+
+    /**
+     * the display always fills the scroll pane's width
+     * @return true
+     */
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    /**
+     * the display scrolls once its rows no longer fit
+     * @return true while the rows fit in the scroll pane
+     */
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() != null && getParent().getHeight() > getPreferredSize().height;
+    }
+
     /**
      * a getter for score
      * @return the number of words found
@@ -81,7 +263,7 @@ public class WordListDisplay extends JEditorPane{
     public int getScore() {
         return score;
     }
-    
+
     /**
      * a getter for the wordList that is displayed
      * @return
@@ -89,5 +271,5 @@ public class WordListDisplay extends JEditorPane{
     public WordList getWordList() {
         return wordList;
     }
-    
+
 }
@@ -5,6 +5,10 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -23,17 +27,26 @@ public class WordleGUI  {
     private KeyboardDisplay keyboard;
     private TileGrid grid;
     private JTextField userInput;
+    private JLabel remainingLabel;
+    private JButton hintButton;
+    private JProgressBar progressBar;
+    private JPanel statusPanel;
     private WordleGame game;
+    private HintEngine hintEngine;
+    
+    // How long the hint button may search before it settles for the best so far
+    private static final long HINT_TIMEOUT_MILLIS = 100;
     
 
     /**
-     * Constructor for WordleGUI
+     * Constructor for WordleGUI. The window is shown straight away and the
+     * words load in the background; typing is turned on once they are ready.
      * 
      */
 
     public WordleGUI() {
 
-        // Generates a game
+        // Generates a game with an empty grid; its words come later
         this.game = new WordleGame(this);
       
 
@@ -50,9 +63,11 @@ public class WordleGUI  {
         keyboard = new KeyboardDisplay(new KeyboardToGridListener() {
             @Override
             public void keyPressed(LetterTile letterTile) {
+                if (!game.isReady()) {
+                    return;
+                }
                 game.addLetter(letterTile.getLetter());
-                grid.updateGridWithLetter(letterTile);
-                grid.repaint(); 
+                updateRemaining();
             }
 
         });
@@ -71,12 +86,31 @@ public class WordleGUI  {
                 //after you enter the guess, clear the textfield
                 userInput.setText(""); 
                 game.checkGuess(guess);
-                grid.repaint();
             }
         });
-        mainPanel.add(userInput, BorderLayout.NORTH);
+        
+        // Button that suggests the guess expected to narrow down the answer most
+        hintButton = new JButton("Hint");
+        hintButton.addActionListener(e -> showHint());
+        
+        JPanel inputPanel = new JPanel(new BorderLayout());
+        inputPanel.add(userInput, BorderLayout.CENTER);
+        inputPanel.add(hintButton, BorderLayout.EAST);
+        mainPanel.add(inputPanel, BorderLayout.NORTH);
 
 
+        // Shows how many common words still fit the clues, and a progress
+        // bar under it until the words have loaded
+        remainingLabel = new JLabel("Loading words...", SwingConstants.CENTER);
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        statusPanel = new JPanel(new BorderLayout());
+        statusPanel.add(remainingLabel, BorderLayout.CENTER);
+        statusPanel.add(progressBar, BorderLayout.SOUTH);
+        mainView.add(statusPanel, BorderLayout.SOUTH);
+        userInput.setEnabled(false);
+        hintButton.setEnabled(false);
+
         // Set padding around the grid
         mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
@@ -86,6 +120,72 @@ public class WordleGUI  {
         mainView.pack();
         mainView.setLocationRelativeTo(null);
         mainView.setVisible(true);
+
+        loadWords();
+    }
+    
+    /**
+     * Loads the word bank on a background thread and starts the game once it
+     * is ready, so the first frame doesn't wait for the dictionary
+     */
+    private void loadWords() {
+        new SwingWorker<WordleWordBank, Void>() {
+            @Override
+            protected WordleWordBank doInBackground() {
+                return new WordleWordBank();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    game.start(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    progressBar.setIndeterminate(false);
+                    remainingLabel.setText("Couldn't load the words");
+                    displayMessage("Couldn't load the words: "
+                            + (e.getCause() != null ? e.getCause() : e));
+                    return;
+                }
+                statusPanel.remove(progressBar);
+                statusPanel.revalidate();
+                updateRemaining();
+                userInput.setEnabled(true);
+                hintButton.setEnabled(true);
+                userInput.requestFocusInWindow();
+            }
+        }.execute();
+    }
+    
+    /**
+     * Updates the count of words still possible from the game's candidate set
+     */
+    public void updateRemaining() {
+        remainingLabel.setText(game.getRemainingCount() + " words remaining");
+    }
+    
+    /**
+     * Works out the best next guess and shows it to the player
+     */
+    private void showHint() {
+        if (hintEngine == null) {
+            // Reads patterns from the precomputed matrix when one has been built
+            PatternMatrix matrix = null;
+            try {
+                matrix = PatternMatrix.open(Paths.get(PatternMatrixBuilder.PATTERN_FILE));
+            } catch (IOException e) {
+                // no matrix yet, so the engine scores patterns itself
+            }
+            hintEngine = new HintEngine(game.getWordBank(), matrix, ForkJoinPool.commonPool());
+        }
+        // the search runs off the event thread and is dropped if a guess comes in first
+        game.suggestHint(hintEngine, HINT_TIMEOUT_MILLIS, hint -> {
+            if (hint == null) {
+                displayMessage("No words fit the clues so far");
+                return;
+            }
+            displayMessage("Try " + hint.getWord() + " (" + hint.getCandidateCount()
+                    + " words left, " + String.format("%.2f", hint.getEntropy()) + " bits)");
+        });
     }
     
     /**
@@ -119,11 +219,28 @@ public class WordleGUI  {
     }
 
     /**
-     * Repaints the grid and keyboard
+     * Repaints the tiles that changed. The keyboard marks its own keys as
+     * their colors change, and both repaint once the current event is done,
+     * so calling this many times per event costs no extra painting.
      */
     public void repaint() {
-        grid.repaint();
-        keyboard.repaint();
+        grid.refresh();
+    }
+    
+    /**
+     * Flips the tiles of a row over to show their colors
+     * @param row the row that was just scored
+     */
+    public void revealRow(int row) {
+        grid.revealRow(row);
+    }
+    
+    /**
+     * Shakes a row to show that a guess was turned down
+     * @param row the row to shake
+     */
+    public void shakeRow(int row) {
+        grid.shakeRow(row);
     }
     
     /**
@@ -152,7 +269,7 @@ public class WordleGUI  {
      */
     
     public static void main(String[] args) {
-        new WordleGUI();
+        SwingUtilities.invokeLater(WordleGUI::new);
     }
     
 }
@@ -0,0 +1,164 @@
+package wordle.model;
+
+/**
+ * Bitsets over a fixed list of answers, built once and shared by every
+ * CandidateSet that uses the same list. Answer i is bit i of each bitset.
+ *
+ * For every (position, letter) there is a bitset of the answers with that
+ * letter in that position, and for every (letter, count) a bitset of the
+ * answers that contain the letter at least that many times. Together they
+ * can express any Wordle clue as a handful of ANDs.
+ */
+public class CandidateIndex {
+
+    /**
+     * the answers, in bit order
+     */
+    private final int[] answers;
+
+    /**
+     * the number of longs in each bitset
+     */
+    private final int words;
+
+    /**
+     * [position][letter] -> answers with that letter in that position
+     */
+    private final long[][][] atPosition;
+
+    /**
+     * [letter][count] -> answers containing the letter at least count times;
+     * count 0 is every answer
+     */
+    private final long[][][] atLeast;
+
+    /**
+     * Builds the bitsets for a list of answers
+     *
+     * @param answers the packed answers; answer i becomes bit i
+     */
+    public CandidateIndex(int[] answers) {
+        this.answers = answers;
+        this.words = (answers.length + 63) / 64;
+        this.atPosition = new long[PackedWords.WORD_LENGTH][26][words];
+        this.atLeast = new long[26][PackedWords.WORD_LENGTH + 2][words];
+
+        for (int i = 0; i < answers.length; i++) {
+            int[] counts = new int[26];
+            for (int p = 0; p < PackedWords.WORD_LENGTH; p++) {
+                int letter = PackedWords.letterAt(answers[i], p);
+                setBit(atPosition[p][letter], i);
+                counts[letter]++;
+            }
+            for (int letter = 0; letter < 26; letter++) {
+                for (int k = 0; k <= counts[letter]; k++) {
+                    setBit(atLeast[letter][k], i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets one bit of a bitset
+     *
+     * @param bits the bitset
+     * @param i    the bit to set
+     */
+    private static void setBit(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    /**
+     * a getter for the number of answers
+     *
+     * @return the number of answers indexed
+     */
+    public int size() {
+        return answers.length;
+    }
+
+    /**
+     * Gets the answer behind a bit
+     *
+     * @param i the bit
+     * @return the packed answer
+     */
+    public int getAnswer(int i) {
+        return answers[i];
+    }
+
+    /**
+     * Creates a bitset with every answer in it
+     *
+     * @return a new bitset of all answers
+     */
+    long[] all() {
+        return atLeast[0][0].clone();
+    }
+
+    /**
+     * Narrows a bitset to the answers that would have given a pattern for a
+     * guess, using only bitset ANDs
+     *
+     * @param alive   the bitset to narrow, changed in place
+     * @param guess   the packed guess
+     * @param pattern the pattern that was shown (see FeedbackPattern)
+     */
+    void apply(long[] alive, int guess, int pattern) {
+        // how many times each guess letter was green or yellow, and whether
+        // any copy of it was gray (which caps the count exactly)
+        int[] hits = new int[26];
+        int grayLetters = 0;
+        for (int p = 0; p < PackedWords.WORD_LENGTH; p++) {
+            int letter = PackedWords.letterAt(guess, p);
+            int digit = FeedbackPattern.digitAt(pattern, p);
+            if (digit == FeedbackPattern.GREEN) {
+                and(alive, atPosition[p][letter]);
+            } else {
+                andNot(alive, atPosition[p][letter]);
+            }
+            if (digit == FeedbackPattern.GRAY) {
+                grayLetters |= 1 << letter;
+            } else {
+                hits[letter]++;
+            }
+        }
+
+        for (int p = 0; p < PackedWords.WORD_LENGTH; p++) {
+            int letter = PackedWords.letterAt(guess, p);
+            if (hits[letter] < 0) {
+                continue;
+            }
+            and(alive, atLeast[letter][hits[letter]]);
+            if ((grayLetters & (1 << letter)) != 0) {
+                andNot(alive, atLeast[letter][hits[letter] + 1]);
+            }
+            // marks the letter as done so repeats aren't applied twice
+            hits[letter] = -1;
+        }
+    }
+
+    /**
+     * alive &= bits
+     *
+     * @param alive the bitset to change
+     * @param bits  the bitset to AND with
+     */
+    private void and(long[] alive, long[] bits) {
+        for (int w = 0; w < words; w++) {
+            alive[w] &= bits[w];
+        }
+    }
+
+    /**
+     * alive &= ~bits
+     *
+     * @param alive the bitset to change
+     * @param bits  the bitset to AND with the complement of
+     */
+    private void andNot(long[] alive, long[] bits) {
+        for (int w = 0; w < words; w++) {
+            alive[w] &= ~bits[w];
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package wordle.model;
+
+import java.util.Arrays;
+
+/**
+ * The answers that are still possible in one game. It starts with every
+ * answer and is narrowed after each guess with a few bitset operations, so
+ * the word list is never scanned again.
+ */
+public class CandidateSet {
+
+    /**
+     * the shared bitsets for the answer list
+     */
+    private final CandidateIndex index;
+
+    /**
+     * bit i is set while answer i is still possible
+     */
+    private final long[] alive;
+
+    /**
+     * the number of bits set in alive
+     */
+    private int count;
+
+    /**
+     * Creates a set holding every answer in the index
+     *
+     * @param index the shared bitsets for the answer list
+     */
+    public CandidateSet(CandidateIndex index) {
+        this.index = index;
+        this.alive = index.all();
+        this.count = index.size();
+    }
+
+    /**
+     * Removes the answers that don't fit the feedback for a guess
+     *
+     * @param guess   the packed guess
+     * @param pattern the pattern that was shown (see FeedbackPattern)
+     */
+    public void apply(int guess, int pattern) {
+        index.apply(alive, guess, pattern);
+        int bits = 0;
+        for (long word : alive) {
+            bits += Long.bitCount(word);
+        }
+        count = bits;
+    }
+
+    /**
+     * a getter for the number of answers still possible
+     *
+     * @return the number of candidates
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Checks whether an answer is still possible
+     *
+     * @param i the answer's position in the index
+     * @return true if the answer is still a candidate
+     */
+    public boolean contains(int i) {
+        return (alive[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Lists the answers still possible
+     *
+     * @return the packed candidates, in index order
+     */
+    public int[] toArray() {
+        int[] candidates = new int[count];
+        int n = 0;
+        for (int w = 0; w < alive.length; w++) {
+            long word = alive[w];
+            while (word != 0) {
+                candidates[n++] = index.getAnswer(w * 64 + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return n == count ? candidates : Arrays.copyOf(candidates, n);
+    }
+}
@@ -0,0 +1,161 @@
+package wordle.model;
+
+/**
+ * Scores a guess against an answer and packs the tile colors into one int.
+ * Position i contributes digit * 3^i, where the digit is GRAY, YELLOW or
+ * GREEN, so every pattern is a number from 0 to 242. Scoring works on packed
+ * words (see PackedWords) and never allocates, so solvers and simulations
+ * can call it millions of times a second.
+ *
+ * Repeated letters are handled the way Wordle does it: greens are matched
+ * first, then each remaining guess letter, left to right, is yellow only if
+ * the answer still has an unmatched copy of that letter.
+ */
+public final class FeedbackPattern {
+
+    /**
+     * the letter is not in the answer (or every copy is already matched)
+     */
+    public static final int GRAY = 0;
+
+    /**
+     * the letter is in the answer but in a different position
+     */
+    public static final int YELLOW = 1;
+
+    /**
+     * the letter is in the right position
+     */
+    public static final int GREEN = 2;
+
+    /**
+     * the number of different patterns, 3^5
+     */
+    public static final int PATTERN_COUNT = 243;
+
+    /**
+     * the pattern of a correct guess, every tile green
+     */
+    public static final int ALL_GREEN = PATTERN_COUNT - 1;
+
+    /**
+     * 3^i for each position
+     */
+    private static final int[] POWERS = { 1, 3, 9, 27, 81 };
+
+    /**
+     * how far to shift a packed word to bring each position's letter down
+     */
+    private static final int[] SHIFTS = { 20, 15, 10, 5, 0 };
+
+    /**
+     * masks off one packed letter
+     */
+    private static final int LETTER_MASK = 31;
+
+    /**
+     * a bit for every position, i.e. every position matched
+     */
+    private static final int ALL_POSITIONS = (1 << PackedWords.WORD_LENGTH) - 1;
+
+    /**
+     * Not meant to be instantiated
+     */
+    private FeedbackPattern() {
+    }
+
+    /**
+     * Scores a packed guess against a packed answer
+     *
+     * @param guess  the packed guess
+     * @param answer the packed answer
+     * @return the pattern, from 0 to 242
+     */
+    public static int score(int guess, int answer) {
+        int pattern = 0;
+        // bit i is set once answer position i has been matched
+        int used = 0;
+
+        // a letter is green where guess and answer have the same 5 bits
+        int diff = guess ^ answer;
+        for (int i = 0; i < PackedWords.WORD_LENGTH; i++) {
+            if (((diff >>> SHIFTS[i]) & LETTER_MASK) == 0) {
+                pattern += GREEN * POWERS[i];
+                used |= 1 << i;
+            }
+        }
+        if (used == ALL_POSITIONS) {
+            return pattern;
+        }
+
+        // the letters left in the answer after the greens, one bit per letter,
+        // so most gray letters are ruled out without a search
+        int remaining = 0;
+        for (int j = 0; j < PackedWords.WORD_LENGTH; j++) {
+            if ((used & (1 << j)) == 0) {
+                remaining |= 1 << ((answer >>> SHIFTS[j]) & LETTER_MASK);
+            }
+        }
+
+        int greens = used;
+        for (int i = 0; i < PackedWords.WORD_LENGTH; i++) {
+            int letter = (guess >>> SHIFTS[i]) & LETTER_MASK;
+            if ((greens & (1 << i)) != 0 || (remaining & (1 << letter)) == 0) {
+                continue;
+            }
+            for (int j = 0; j < PackedWords.WORD_LENGTH; j++) {
+                if ((used & (1 << j)) == 0
+                        && ((answer >>> SHIFTS[j]) & LETTER_MASK) == letter) {
+                    pattern += YELLOW * POWERS[i];
+                    used |= 1 << j;
+                    break;
+                }
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Scores a guess against an answer, ignoring case
+     *
+     * @param guess  the guess, five letters from A-Z
+     * @param answer the answer, five letters from A-Z
+     * @return the pattern, from 0 to 242
+     * @throws IllegalArgumentException if either word can't be packed
+     */
+    public static int score(CharSequence guess, CharSequence answer) {
+        int packedGuess = PackedWords.encode(guess);
+        int packedAnswer = PackedWords.encode(answer);
+        if (packedGuess == PackedWords.INVALID || packedAnswer == PackedWords.INVALID) {
+            throw new IllegalArgumentException(
+                    "Words must be five letters from A-Z");
+        }
+        return score(packedGuess, packedAnswer);
+    }
+
+    /**
+     * Gets the color of one tile in a pattern
+     *
+     * @param pattern  the pattern
+     * @param position the tile position, 0 to 4
+     * @return GRAY, YELLOW or GREEN
+     */
+    public static int digitAt(int pattern, int position) {
+        return (pattern / POWERS[position]) % 3;
+    }
+
+    /**
+     * Writes a pattern out as letters, handy for logs and debugging
+     *
+     * @param pattern the pattern
+     * @return five characters, G for green, Y for yellow and - for gray
+     */
+    public static String toString(int pattern) {
+        char[] tiles = new char[PackedWords.WORD_LENGTH];
+        for (int i = 0; i < tiles.length; i++) {
+            int digit = digitAt(pattern, i);
+            tiles[i] = digit == GREEN ? 'G' : digit == YELLOW ? 'Y' : '-';
+        }
+        return new String(tiles);
+    }
+}
@@ -0,0 +1,114 @@
+package wordle.model;
+
+/**
+ * What a WordleEngine worked out for one submitted guess.
+ */
+public class GuessResult {
+
+    /**
+     * the guess as submitted, upper-cased when it was a word
+     */
+    private final String guess;
+
+    /**
+     * what happened to the guess
+     */
+    private final GuessStatus status;
+
+    /**
+     * the feedback pattern, or -1 if the guess wasn't scored
+     */
+    private final int pattern;
+
+    /**
+     * the row the guess went in, or -1 if it wasn't scored
+     */
+    private final int row;
+
+    /**
+     * how many answers are still possible after the guess
+     */
+    private final int remaining;
+
+    /**
+     * Creates a new GuessResult
+     *
+     * @param guess     the guess as submitted
+     * @param status    what happened to the guess
+     * @param pattern   the feedback pattern, or -1 if not scored
+     * @param row       the row the guess went in, or -1 if not scored
+     * @param remaining how many answers are still possible
+     */
+    public GuessResult(String guess, GuessStatus status, int pattern, int row,
+            int remaining) {
+        this.guess = guess;
+        this.status = status;
+        this.pattern = pattern;
+        this.row = row;
+        this.remaining = remaining;
+    }
+
+    /**
+     * Getter for the guess
+     *
+     * @return the guess as submitted
+     */
+    public String getGuess() {
+        return guess;
+    }
+
+    /**
+     * Getter for the status
+     *
+     * @return what happened to the guess
+     */
+    public GuessStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Getter for the pattern
+     *
+     * @return the pattern (see FeedbackPattern), or -1 if not scored
+     */
+    public int getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Getter for the row
+     *
+     * @return the row the guess went in, or -1 if not scored
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Getter for the remaining answer count
+     *
+     * @return how many answers are still possible
+     */
+    public int getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Checks whether the guess was scored
+     *
+     * @return true if the guess took up a row
+     */
+    public boolean isScored() {
+        return status.isScored();
+    }
+
+    /**
+     * Checks whether the game has ended
+     *
+     * @return true if the game was won or lost on or before this guess
+     */
+    public boolean isGameOver() {
+        return status == GuessStatus.WON || status == GuessStatus.LOST
+                || status == GuessStatus.GAME_OVER;
+    }
+}
@@ -0,0 +1,79 @@
+package wordle.model;
+
+/**
+ * What happened to a submitted guess, with the message a player should see.
+ */
+public enum GuessStatus {
+
+    /**
+     * the guess was scored and the game goes on
+     */
+    ACCEPTED(""),
+
+    /**
+     * the guess was the answer
+     */
+    WON("You genius!!! You win!!)"),
+
+    /**
+     * the guess was scored but it was the last one and it was wrong
+     */
+    LOST("Better luck next time."),
+
+    /**
+     * the guess has fewer than five characters
+     */
+    TOO_SHORT("This is too short. Please enter a word that is 5 letters long"),
+
+    /**
+     * the guess has more than five characters
+     */
+    TOO_LONG("This is too long. Please enter a word that is 5 letters long"),
+
+    /**
+     * the guess has something other than letters in it
+     */
+    INVALID_INPUT("Invalid input, Wordle uses only the alphabets from A-Z so use letters only"),
+
+    /**
+     * the guess isn't in the word bank
+     */
+    NOT_A_WORD("Not a valid word. Please enter a valid word"),
+
+    /**
+     * the game had already ended
+     */
+    GAME_OVER("The game is over");
+
+    /**
+     * the message for the player
+     */
+    private final String message;
+
+    /**
+     * Creates a status
+     *
+     * @param message the message for the player
+     */
+    GuessStatus(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Getter for the message to show the player
+     *
+     * @return the message, empty for ACCEPTED
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Checks whether a guess with this status was scored
+     *
+     * @return true for ACCEPTED, WON and LOST
+     */
+    public boolean isScored() {
+        return this == ACCEPTED || this == WON || this == LOST;
+    }
+}
@@ -0,0 +1,104 @@
+package wordle.model;
+
+/**
+ * The result of asking the HintEngine for the best next guess.
+ */
+public class Hint {
+
+    /**
+     * the suggested guess, packed (see PackedWords)
+     */
+    private final int packedGuess;
+
+    /**
+     * the expected information gain of the guess, in bits
+     */
+    private final double entropy;
+
+    /**
+     * how many answers were still possible when the hint was worked out
+     */
+    private final int candidateCount;
+
+    /**
+     * how many guesses were scored before the hint was returned
+     */
+    private final int guessesScored;
+
+    /**
+     * false if the deadline ran out before every guess was scored
+     */
+    private final boolean complete;
+
+    /**
+     * Creates a new Hint
+     *
+     * @param packedGuess    the suggested guess, packed
+     * @param entropy        the expected information gain in bits
+     * @param candidateCount how many answers were still possible
+     * @param guessesScored  how many guesses were scored
+     * @param complete       true if every guess was scored
+     */
+    public Hint(int packedGuess, double entropy, int candidateCount,
+            int guessesScored, boolean complete) {
+        this.packedGuess = packedGuess;
+        this.entropy = entropy;
+        this.candidateCount = candidateCount;
+        this.guessesScored = guessesScored;
+        this.complete = complete;
+    }
+
+    /**
+     * Getter for the suggested guess
+     *
+     * @return the guess in upper case
+     */
+    public String getWord() {
+        return PackedWords.decode(packedGuess);
+    }
+
+    /**
+     * Getter for the suggested guess as a packed word
+     *
+     * @return the packed guess
+     */
+    public int getPackedGuess() {
+        return packedGuess;
+    }
+
+    /**
+     * Getter for the expected information gain
+     *
+     * @return the entropy of the guess's pattern distribution, in bits
+     */
+    public double getEntropy() {
+        return entropy;
+    }
+
+    /**
+     * Getter for the number of answers still possible
+     *
+     * @return the candidate count
+     */
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * Getter for the number of guesses scored
+     *
+     * @return how many guesses were looked at
+     */
+    public int getGuessesScored() {
+        return guessesScored;
+    }
+
+    /**
+     * Checks whether every guess was scored
+     *
+     * @return false if the deadline cut the search short
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,258 @@
+package wordle.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggests the guess that is expected to tell the player the most about the
+ * answer. For each allowed guess the remaining candidate answers are grouped
+ * by the pattern they would show, and the guess whose groups have the highest
+ * entropy wins. Ties go to guesses that could be the answer.
+ *
+ * The guesses are split into chunks and scored on a ForkJoinPool. Every
+ * chunk checks the deadline between guesses, so a search that runs out of
+ * time still returns the best guess it found.
+ */
+public class HintEngine {
+
+    /**
+     * how many guesses one fork/join task scores before splitting no further
+     */
+    private static final int CHUNK_SIZE = 128;
+
+    /**
+     * the guesses the engine chooses from, sorted: every word the game
+     * accepts, including the common words missing from the English list
+     */
+    private final int[] guesses;
+
+    /**
+     * precomputed patterns for guesses x answers, or null to score directly
+     */
+    private final PatternMatrix matrix;
+
+    /**
+     * the pool the search runs on
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an engine that scores patterns as it goes, on the common pool
+     *
+     * @param bank the word bank to draw guesses and answers from
+     */
+    public HintEngine(WordleWordBank bank) {
+        this(bank, null, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an engine
+     *
+     * @param bank   the word bank to draw guesses and answers from
+     * @param matrix a pattern matrix to read patterns from, ignored if it
+     *               wasn't built for this bank's word lists; may be null
+     * @param pool   the pool to run the search on
+     */
+    public HintEngine(WordleWordBank bank, PatternMatrix matrix, ForkJoinPool pool) {
+        this.guesses = bank.getPackedAllowedGuesses();
+        int[] answers = bank.getPackedCommonWords();
+        this.matrix = matrix != null && matrix.covers(guesses, answers) ? matrix : null;
+        this.pool = pool;
+    }
+
+    /**
+     * Suggests the best next guess for a game in progress
+     *
+     * @param game          the game
+     * @param timeoutMillis how long the search may take
+     * @return the best guess found, or null if no answer fits the feedback
+     */
+    public Hint suggest(WordleEngine game, long timeoutMillis) {
+        return suggest(candidatesFor(game),
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    /**
+     * Suggests the best guess for a set of remaining answers
+     *
+     * The search stops early, like it does at the deadline, if the calling
+     * thread is interrupted; every chunk of guesses checks for it.
+     *
+     * @param candidates    the packed answers still possible, sorted
+     * @param deadlineNanos the System.nanoTime() by which to return
+     * @return the best guess found, or null if there are no candidates
+     */
+    public Hint suggest(int[] candidates, long deadlineNanos) {
+        int n = candidates.length;
+        if (n == 0) {
+            return null;
+        }
+        if (n <= 2) {
+            // either candidate splits the pair, and might win outright
+            return new Hint(candidates[0], n == 2 ? 1.0 : 0.0, n, 0, true);
+        }
+
+        // c * log2(c) for every group size, so the search never calls log
+        double[] cLogC = new double[n + 1];
+        for (int c = 2; c <= n; c++) {
+            cLogC[c] = c * Math.log(c) / Math.log(2);
+        }
+
+        int[] columns = null;
+        if (matrix != null) {
+            columns = new int[n];
+            for (int j = 0; j < n; j++) {
+                columns[j] = matrix.indexOfAnswer(candidates[j]);
+            }
+        }
+
+        Best best = pool.invoke(new SearchTask(candidates, columns, cLogC,
+                deadlineNanos, Thread.currentThread(), 0, guesses.length));
+        if (best.guess < 0) {
+            // out of time before anything was scored; any candidate can win
+            return new Hint(candidates[0], 0.0, n, 0, false);
+        }
+        double entropy = Math.log(n) / Math.log(2) - best.weightedLog / n;
+        return new Hint(guesses[best.guess], entropy, n, best.scored,
+                best.complete);
+    }
+
+    /**
+     * Gets the answers that fit every guess and pattern in a game so far
+     *
+     * @param game the game
+     * @return the packed answers still possible, sorted
+     */
+    public int[] candidatesFor(WordleEngine game) {
+        // the candidate set is indexed in the same sorted order as answers
+        return game.getCandidates().toArray();
+    }
+
+    /**
+     * The best guess in part of the search. Guesses are compared by the sum
+     * of c * log2(c) over their pattern groups; lower means higher entropy.
+     */
+    private static final class Best {
+        private int guess = -1;
+        private double weightedLog = Double.MAX_VALUE;
+        private boolean isCandidate;
+        private int scored;
+        private boolean complete = true;
+
+        /**
+         * Checks whether a guess beats this one
+         *
+         * @param weightedLog the guess's sum of c * log2(c)
+         * @param isCandidate whether the guess could be the answer
+         * @return true if the guess is better
+         */
+        boolean isBeatenBy(double weightedLog, boolean isCandidate) {
+            if (weightedLog != this.weightedLog) {
+                return weightedLog < this.weightedLog;
+            }
+            return isCandidate && !this.isCandidate;
+        }
+
+        /**
+         * Merges the best guess of another part of the search into this one
+         *
+         * @param other the other part's best guess
+         * @return this
+         */
+        Best merge(Best other) {
+            if (other.guess >= 0 && (guess < 0
+                    || isBeatenBy(other.weightedLog, other.isCandidate))) {
+                guess = other.guess;
+                weightedLog = other.weightedLog;
+                isCandidate = other.isCandidate;
+            }
+            scored += other.scored;
+            complete &= other.complete;
+            return this;
+        }
+    }
+
+    /**
+     * Scores a range of guesses, splitting in half until the range is no
+     * bigger than CHUNK_SIZE
+     */
+    private final class SearchTask extends RecursiveTask<Best> {
+        private static final long serialVersionUID = 1L;
+        private final int[] candidates;
+        private final int[] columns;
+        private final double[] cLogC;
+        private final long deadlineNanos;
+        private final Thread caller;
+        private final int from;
+        private final int to;
+
+        /**
+         * Creates a task for guesses from (inclusive) to to (exclusive)
+         *
+         * @param candidates    the packed answers still possible
+         * @param columns       the candidates' matrix columns, or null
+         * @param cLogC         c * log2(c) for every group size
+         * @param deadlineNanos when to give up
+         * @param caller        the thread waiting for the search; the search
+         *                      is given up if it is interrupted
+         * @param from          the first guess
+         * @param to            one past the last guess
+         */
+        SearchTask(int[] candidates, int[] columns, double[] cLogC,
+                long deadlineNanos, Thread caller, int from, int to) {
+            this.candidates = candidates;
+            this.columns = columns;
+            this.cLogC = cLogC;
+            this.deadlineNanos = deadlineNanos;
+            this.caller = caller;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Best compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                SearchTask left = new SearchTask(candidates, columns, cLogC,
+                        deadlineNanos, caller, from, middle);
+                left.fork();
+                Best right = new SearchTask(candidates, columns, cLogC,
+                        deadlineNanos, caller, middle, to).compute();
+                return left.join().merge(right);
+            }
+
+            Best best = new Best();
+            int[] groups = new int[FeedbackPattern.PATTERN_COUNT];
+            for (int g = from; g < to; g++) {
+                if (System.nanoTime() - deadlineNanos > 0 || caller.isInterrupted()) {
+                    best.complete = false;
+                    break;
+                }
+                Arrays.fill(groups, 0);
+                if (columns != null) {
+                    for (int column : columns) {
+                        groups[matrix.getPattern(g, column)]++;
+                    }
+                } else {
+                    for (int answer : candidates) {
+                        groups[FeedbackPattern.score(guesses[g], answer)]++;
+                    }
+                }
+                double weightedLog = 0;
+                for (int size : groups) {
+                    weightedLog += cLogC[size];
+                }
+                boolean isCandidate = Arrays.binarySearch(candidates, guesses[g]) >= 0;
+                if (best.guess < 0 || best.isBeatenBy(weightedLog, isCandidate)) {
+                    best.guess = g;
+                    best.weightedLog = weightedLog;
+                    best.isCandidate = isCandidate;
+                }
+                best.scored++;
+            }
+            return best;
+        }
+    }
+}
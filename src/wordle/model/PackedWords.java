@@ -0,0 +1,94 @@
+package wordle.model;
+
+/**
+ * Helper methods for five-letter A-Z words packed into a single int.
+ * Each letter takes 5 bits (A = 0 ... Z = 25) and the first letter sits in
+ * the highest bits, so sorting packed words sorts them alphabetically.
+ * A packed word uses the low 25 bits and is never negative.
+ */
+public final class PackedWords {
+
+    /**
+     * the number of letters in a packed word
+     */
+    public static final int WORD_LENGTH = 5;
+
+    /**
+     * the number of bits each letter takes up
+     */
+    public static final int BITS_PER_LETTER = 5;
+
+    /**
+     * returned by encode when a word can't be packed
+     */
+    public static final int INVALID = -1;
+
+    /**
+     * masks off a single letter
+     */
+    private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+
+    /**
+     * Not meant to be instantiated
+     */
+    private PackedWords() {
+    }
+
+    /**
+     * Packs a five-letter word into an int, ignoring case
+     *
+     * @param word the word to pack
+     * @return the packed word, or INVALID if it is not five letters from A-Z
+     */
+    public static int encode(CharSequence word) {
+        if (word == null || word.length() != WORD_LENGTH) {
+            return INVALID;
+        }
+        int code = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            int letter = (word.charAt(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return INVALID;
+            }
+            code = (code << BITS_PER_LETTER) | letter;
+        }
+        return code;
+    }
+
+    /**
+     * Unpacks a packed word into an upper-case String
+     *
+     * @param code the packed word
+     * @return the word in upper case
+     */
+    public static String decode(int code) {
+        char[] letters = new char[WORD_LENGTH];
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            letters[i] = charAt(code, i);
+        }
+        return new String(letters);
+    }
+
+    /**
+     * Gets one letter of a packed word as a number
+     *
+     * @param code     the packed word
+     * @param position the position of the letter, 0 to 4
+     * @return the letter, 0 for A up to 25 for Z
+     */
+    public static int letterAt(int code, int position) {
+        return (code >>> (BITS_PER_LETTER * (WORD_LENGTH - 1 - position)))
+                & LETTER_MASK;
+    }
+
+    /**
+     * Gets one letter of a packed word as an upper-case char
+     *
+     * @param code     the packed word
+     * @param position the position of the letter, 0 to 4
+     * @return the letter from 'A' to 'Z'
+     */
+    public static char charAt(int code, int position) {
+        return (char) ('A' + letterAt(code, position));
+    }
+}
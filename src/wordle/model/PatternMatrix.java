@@ -0,0 +1,204 @@
+package wordle.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The feedback pattern of every allowed guess against every answer, one byte
+ * per cell, memory-mapped read-only from a file written by
+ * PatternMatrixBuilder. Looking up a pattern is a single memory read instead
+ * of a call to FeedbackPattern.score.
+ *
+ * The file starts with a header (int magic, int version, int guessCount,
+ * int answerCount), then the packed guesses and packed answers, both sorted,
+ * then the cells row by row: row g holds the patterns of guess g against
+ * each answer in order.
+ */
+public class PatternMatrix {
+
+    /**
+     * "WPAT", the first four bytes of every pattern matrix file
+     */
+    static final int MAGIC = 0x57504154;
+
+    /**
+     * bumped whenever the layout or the scoring rules change
+     */
+    static final int VERSION = 1;
+
+    /**
+     * the size of the fixed header in bytes
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * the sorted packed guesses, one per row
+     */
+    private final int[] guesses;
+
+    /**
+     * the sorted packed answers, one per column
+     */
+    private final int[] answers;
+
+    /**
+     * the mapped file
+     */
+    private final ByteBuffer data;
+
+    /**
+     * where the first cell is in the file
+     */
+    private final int cellsStart;
+
+    /**
+     * Wraps a mapped file whose header has been read
+     *
+     * @param guesses the packed guesses
+     * @param answers the packed answers
+     * @param data    the mapped file
+     */
+    private PatternMatrix(int[] guesses, int[] answers, ByteBuffer data) {
+        this.guesses = guesses;
+        this.answers = answers;
+        this.data = data;
+        this.cellsStart = cellsStart(guesses.length, answers.length);
+    }
+
+    /**
+     * Maps a pattern matrix file
+     *
+     * @param file the file written by PatternMatrixBuilder
+     * @return the matrix
+     * @throws IOException if the file can't be read or isn't a pattern matrix
+     */
+    public static PatternMatrix open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+            if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC
+                    || data.getInt(4) != VERSION) {
+                throw new IOException(file + " is not a pattern matrix");
+            }
+            int guessCount = data.getInt(8);
+            int answerCount = data.getInt(12);
+            if (data.capacity() != fileSize(guessCount, answerCount)) {
+                throw new IOException(file + " is truncated");
+            }
+            int[] guesses = new int[guessCount];
+            int[] answers = new int[answerCount];
+            data.position(HEADER_SIZE);
+            data.asIntBuffer().get(guesses).get(answers);
+            return new PatternMatrix(guesses, answers, data);
+        }
+    }
+
+    /**
+     * Works out where the cells start in a file
+     *
+     * @param guessCount  the number of rows
+     * @param answerCount the number of columns
+     * @return the byte offset of the first cell
+     */
+    static int cellsStart(int guessCount, int answerCount) {
+        return HEADER_SIZE + (guessCount + answerCount) * 4;
+    }
+
+    /**
+     * Works out how big a file is
+     *
+     * @param guessCount  the number of rows
+     * @param answerCount the number of columns
+     * @return the file size in bytes
+     */
+    static long fileSize(int guessCount, int answerCount) {
+        return cellsStart(guessCount, answerCount)
+                + (long) guessCount * answerCount;
+    }
+
+    /**
+     * Looks up the pattern of a guess against an answer
+     *
+     * @param guess  the row of the guess
+     * @param answer the column of the answer
+     * @return the pattern, from 0 to 242
+     */
+    public int getPattern(int guess, int answer) {
+        return data.get(cellsStart + guess * answers.length + answer) & 0xFF;
+    }
+
+    /**
+     * Finds the row of a guess
+     *
+     * @param packedGuess the packed guess
+     * @return the row, or a negative number if the guess isn't in the matrix
+     */
+    public int indexOfGuess(int packedGuess) {
+        return Arrays.binarySearch(guesses, packedGuess);
+    }
+
+    /**
+     * Finds the column of an answer
+     *
+     * @param packedAnswer the packed answer
+     * @return the column, or a negative number if the answer isn't in the
+     *         matrix
+     */
+    public int indexOfAnswer(int packedAnswer) {
+        return Arrays.binarySearch(answers, packedAnswer);
+    }
+
+    /**
+     * Gets the packed guess for a row
+     *
+     * @param row the row
+     * @return the packed guess
+     */
+    public int getGuess(int row) {
+        return guesses[row];
+    }
+
+    /**
+     * Gets the packed answer for a column
+     *
+     * @param column the column
+     * @return the packed answer
+     */
+    public int getAnswer(int column) {
+        return answers[column];
+    }
+
+    /**
+     * a getter for the number of rows
+     *
+     * @return the number of guesses
+     */
+    public int getGuessCount() {
+        return guesses.length;
+    }
+
+    /**
+     * a getter for the number of columns
+     *
+     * @return the number of answers
+     */
+    public int getAnswerCount() {
+        return answers.length;
+    }
+
+    /**
+     * Checks whether the matrix was built for exactly these word lists
+     *
+     * @param guesses the sorted packed guesses
+     * @param answers the sorted packed answers
+     * @return true if both lists match
+     */
+    public boolean covers(int[] guesses, int[] answers) {
+        return Arrays.equals(this.guesses, guesses)
+                && Arrays.equals(this.answers, answers);
+    }
+}
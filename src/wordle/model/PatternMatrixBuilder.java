@@ -0,0 +1,156 @@
+package wordle.model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the PatternMatrix file for a list of guesses and answers, one row
+ * per guess, in parallel on the common fork/join pool.
+ *
+ * Building is incremental: when an older matrix file exists, cells whose
+ * guess and answer were both in the old file are copied across and only the
+ * new rows and columns are scored.
+ */
+public class PatternMatrixBuilder {
+
+    /**
+     * the default name of the pattern matrix file
+     */
+    public static final String PATTERN_FILE = "patterns.bin";
+
+    /**
+     * the number of cells scored rather than copied by the last build
+     */
+    private final AtomicLong scoredCells = new AtomicLong();
+
+    /**
+     * Gets the matrix for a word bank: every allowed guess, common-only
+     * words included, against every common answer
+     *
+     * @param bank the word bank
+     * @param file where the matrix is kept
+     * @return the matrix, mapped read-only
+     * @throws IOException if the file can't be written or mapped
+     */
+    public PatternMatrix build(WordleWordBank bank, Path file) throws IOException {
+        return build(bank.getPackedAllowedGuesses(), bank.getPackedCommonWords(), file);
+    }
+
+    /**
+     * Gets the matrix for a list of guesses and answers, reusing the file if
+     * it already covers them and rebuilding only what changed otherwise
+     *
+     * @param guesses the packed guesses, sorted
+     * @param answers the packed answers, sorted
+     * @param file    where the matrix is kept
+     * @return the matrix, mapped read-only
+     * @throws IOException if the file can't be written or mapped
+     */
+    public PatternMatrix build(int[] guesses, int[] answers, Path file)
+            throws IOException {
+        scoredCells.set(0);
+        PatternMatrix old = null;
+        if (Files.exists(file)) {
+            try {
+                old = PatternMatrix.open(file);
+            } catch (IOException e) {
+                // a corrupt or outdated file is rebuilt from scratch
+            }
+        }
+        if (old != null && old.covers(guesses, answers)) {
+            return old;
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        write(guesses, answers, old, temp);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        return PatternMatrix.open(file);
+    }
+
+    /**
+     * a getter for how much work the last build did
+     *
+     * @return the number of cells that were scored rather than copied
+     */
+    public long getScoredCells() {
+        return scoredCells.get();
+    }
+
+    /**
+     * Writes a new matrix file, copying cells from the old matrix where it can
+     *
+     * @param guesses the packed guesses, sorted
+     * @param answers the packed answers, sorted
+     * @param old     the previous matrix, or null
+     * @param file    the file to write
+     * @throws IOException if the file can't be written
+     */
+    private void write(int[] guesses, int[] answers, PatternMatrix old,
+            Path file) throws IOException {
+        long size = PatternMatrix.fileSize(guesses.length, answers.length);
+        int cellsStart = PatternMatrix.cellsStart(guesses.length, answers.length);
+
+        // where each answer was in the old matrix, or -1 if it is new
+        int[] oldColumns = new int[answers.length];
+        for (int a = 0; a < answers.length; a++) {
+            oldColumns[a] = old == null ? -1 : Math.max(-1, old.indexOfAnswer(answers[a]));
+        }
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.putInt(PatternMatrix.MAGIC);
+            out.putInt(PatternMatrix.VERSION);
+            out.putInt(guesses.length);
+            out.putInt(answers.length);
+            out.asIntBuffer().put(guesses).put(answers);
+
+            // each task fills one row in its own array and copies it in,
+            // so no two threads ever write the same bytes
+            IntStream.range(0, guesses.length).parallel().forEach(g -> {
+                byte[] row = new byte[answers.length];
+                int oldRow = old == null ? -1 : old.indexOfGuess(guesses[g]);
+                int scored = 0;
+                for (int a = 0; a < answers.length; a++) {
+                    if (oldRow >= 0 && oldColumns[a] >= 0) {
+                        row[a] = (byte) old.getPattern(oldRow, oldColumns[a]);
+                    } else {
+                        row[a] = (byte) FeedbackPattern.score(guesses[g], answers[a]);
+                        scored++;
+                    }
+                }
+                out.put(cellsStart + g * answers.length, row);
+                scoredCells.addAndGet(scored);
+            });
+            out.force();
+        }
+    }
+
+    /**
+     * Builds or updates the pattern matrix for the bundled word lists
+     *
+     * @param args optionally the matrix file to write
+     * @throws IOException if the file can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : PATTERN_FILE);
+        WordleWordBank bank = new WordleWordBank(true);
+        PatternMatrixBuilder builder = new PatternMatrixBuilder();
+
+        long start = System.nanoTime();
+        PatternMatrix matrix = builder.build(bank, file);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(matrix.getGuessCount() + " x " + matrix.getAnswerCount()
+                + " patterns in " + file + ", " + builder.getScoredCells()
+                + " scored, " + millis + " ms");
+    }
+}
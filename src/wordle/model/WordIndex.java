@@ -0,0 +1,128 @@
+package wordle.model;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash set of five-letter words.
+ * It is built once when the word bank loads, so a lookup costs the same
+ * whether the word is at the start of the list, the end, or missing.
+ * Words are stored as packed ints (5 bits per letter) so lookups never allocate.
+ */
+public class WordIndex {
+
+    /**
+     * marks an unused slot in the table; no packed word is negative
+     */
+    private static final int EMPTY = PackedWords.INVALID;
+
+    /**
+     * the hash table, a power of two in size and never more than half full
+     */
+    private final int[] table;
+
+    /**
+     * table.length - 1, used to wrap probe positions
+     */
+    private final int mask;
+
+    /**
+     * the number of distinct words in the index
+     */
+    private int size;
+
+    /**
+     * Builds an index over words that are already packed
+     *
+     * @param codes the packed words to index
+     */
+    public WordIndex(int[] codes) {
+        this.table = newTable(codes.length);
+        this.mask = table.length - 1;
+        for (int code : codes) {
+            insert(code);
+        }
+    }
+
+    /**
+     * Checks whether a word is in the index. The check ignores case.
+     *
+     * @param word the word to look for
+     * @return true if the word is in the index, false if not
+     */
+    public boolean contains(CharSequence word) {
+        return containsCode(PackedWords.encode(word));
+    }
+
+    /**
+     * Checks whether a packed word is in the index
+     *
+     * @param code the packed word to look for
+     * @return true if the word is in the index, false if not
+     */
+    public boolean containsCode(int code) {
+        if (code == EMPTY) {
+            return false;
+        }
+        int i = slot(code);
+        while (table[i] != EMPTY) {
+            if (table[i] == code) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Getter for the number of words in the index
+     *
+     * @return the number of distinct words indexed
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates an empty table big enough to stay at most half full
+     *
+     * @param words the number of words that will go in the table
+     * @return a table filled with EMPTY
+     */
+    private static int[] newTable(int words) {
+        int capacity = 16;
+        while (capacity < words * 2) {
+            capacity = capacity * 2;
+        }
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    /**
+     * Adds a packed word to the table unless it is already there
+     *
+     * @param code the packed word
+     */
+    private void insert(int code) {
+        int i = slot(code);
+        while (table[i] != EMPTY) {
+            if (table[i] == code) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = code;
+        size++;
+    }
+
+    /**
+     * Finds the first table slot to probe for a packed word
+     *
+     * @param code the packed word
+     * @return a slot in the table
+     */
+    private int slot(int code) {
+        int h = code * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
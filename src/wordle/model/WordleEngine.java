@@ -0,0 +1,319 @@
+package wordle.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The rules of one Wordle game with no GUI attached. Each guess returns a
+ * GuessResult, and anything interested in the game (such as WordleGame and
+ * its GUI) subscribes as a WordleListener. Nothing here touches AWT or Swing,
+ * so one JVM can run thousands of engines headless.
+ *
+ * An engine is not thread-safe; each game should be driven by one thread at
+ * a time.
+ */
+public class WordleEngine {
+
+    /**
+     * the number of guesses a player gets
+     */
+    public static final int MAX_GUESSES = 6;
+
+    /**
+     * the state of a letter that hasn't been guessed yet
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * the word bank guesses are checked against
+     */
+    private final WordleWordBank wordBank;
+
+    /**
+     * the packed answer
+     */
+    private final int answer;
+
+    /**
+     * the packed guesses scored so far
+     */
+    private final int[] packedGuesses = new int[MAX_GUESSES];
+
+    /**
+     * the pattern shown for each guess
+     */
+    private final int[] patterns = new int[MAX_GUESSES];
+
+    /**
+     * the number of guesses scored so far
+     */
+    private int guessCount = 0;
+
+    /**
+     * true once the game has been won or lost
+     */
+    private boolean gameOver = false;
+
+    /**
+     * the best-known state of each letter, A to Z
+     */
+    private final int[] letterStates = new int[26];
+
+    /**
+     * the answers that still fit every guess
+     */
+    private final CandidateSet candidates;
+
+    /**
+     * the subscribers to this game's events
+     */
+    private final List<WordleListener> listeners = new ArrayList<WordleListener>();
+
+    /**
+     * Starts a game with a random common word as the answer
+     *
+     * @param wordBank the word bank to draw from
+     */
+    public WordleEngine(WordleWordBank wordBank) {
+        this(wordBank, PackedWords.encode(wordBank.getRandomCommonWord()));
+    }
+
+    /**
+     * Starts a game with a chosen answer
+     *
+     * @param wordBank the word bank to check guesses against
+     * @param answer   the packed answer
+     */
+    public WordleEngine(WordleWordBank wordBank, int answer) {
+        this.wordBank = wordBank;
+        this.answer = answer;
+        this.candidates = wordBank.newCandidateSet();
+        Arrays.fill(letterStates, UNKNOWN);
+    }
+
+    /**
+     * Subscribes to this game's events
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(WordleListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unsubscribes from this game's events
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(WordleListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Checks and scores a guess typed by the player
+     *
+     * @param guess the guess, in any case
+     * @return what happened to the guess
+     */
+    public GuessResult submitGuess(String guess) {
+        if (gameOver) {
+            return reject(guess, GuessStatus.GAME_OVER);
+        }
+        if (guess.length() < PackedWords.WORD_LENGTH) {
+            return reject(guess, GuessStatus.TOO_SHORT);
+        }
+        if (guess.length() > PackedWords.WORD_LENGTH) {
+            return reject(guess, GuessStatus.TOO_LONG);
+        }
+        for (int i = 0; i < guess.length(); i++) {
+            if (!Character.isLetter(guess.charAt(i))) {
+                return reject(guess, GuessStatus.INVALID_INPUT);
+            }
+        }
+        int packed = PackedWords.encode(guess);
+        if (!isAllowed(packed)) {
+            return reject(guess, GuessStatus.NOT_A_WORD);
+        }
+        return score(guess.toUpperCase(Locale.ROOT), packed);
+    }
+
+    /**
+     * Checks and scores a packed guess, for bots and simulations that never
+     * deal in Strings
+     *
+     * @param packedGuess the packed guess
+     * @return what happened to the guess
+     */
+    public GuessResult submitGuess(int packedGuess) {
+        if (gameOver) {
+            return reject(null, GuessStatus.GAME_OVER);
+        }
+        if (!isAllowed(packedGuess)) {
+            return reject(null, GuessStatus.NOT_A_WORD);
+        }
+        return score(null, packedGuess);
+    }
+
+    /**
+     * Checks whether a word may be guessed. A few common words (mostly
+     * names) aren't in the English list, but they can be the answer, so
+     * they have to be guessable too.
+     *
+     * @param packed the packed guess
+     * @return true if the word is in either list
+     */
+    private boolean isAllowed(int packed) {
+        return wordBank.packedWordExists(packed)
+                || wordBank.packedCommonWordExists(packed);
+    }
+
+    /**
+     * Scores a valid guess, records it and tells the listeners
+     *
+     * @param guess  the guess as text, or null to leave it packed
+     * @param packed the packed guess
+     * @return the result
+     */
+    private GuessResult score(String guess, int packed) {
+        int pattern = FeedbackPattern.score(packed, answer);
+        int row = guessCount;
+        packedGuesses[row] = packed;
+        patterns[row] = pattern;
+        guessCount++;
+        candidates.apply(packed, pattern);
+
+        GuessStatus status = GuessStatus.ACCEPTED;
+        if (pattern == FeedbackPattern.ALL_GREEN) {
+            status = GuessStatus.WON;
+        } else if (guessCount == MAX_GUESSES) {
+            status = GuessStatus.LOST;
+        }
+        gameOver = status != GuessStatus.ACCEPTED;
+
+        // a letter only ever moves up from gray to yellow to green
+        for (int i = 0; i < PackedWords.WORD_LENGTH; i++) {
+            int letter = PackedWords.letterAt(packed, i);
+            int state = FeedbackPattern.digitAt(pattern, i);
+            if (state > letterStates[letter]) {
+                letterStates[letter] = state;
+                for (WordleListener listener : listeners) {
+                    listener.keyStateChanged((char) ('A' + letter), state);
+                }
+            }
+        }
+
+        GuessResult result = new GuessResult(guess, status, pattern, row,
+                candidates.size());
+        for (WordleListener listener : listeners) {
+            listener.guessEvaluated(result);
+        }
+        return result;
+    }
+
+    /**
+     * Builds the result for a guess that wasn't scored and tells the
+     * listeners
+     *
+     * @param guess  the guess as submitted
+     * @param status why it was rejected
+     * @return the result
+     */
+    private GuessResult reject(String guess, GuessStatus status) {
+        GuessResult result = new GuessResult(guess, status, -1, -1,
+                candidates.size());
+        for (WordleListener listener : listeners) {
+            listener.guessEvaluated(result);
+        }
+        return result;
+    }
+
+    /**
+     * Getter for the answer
+     *
+     * @return the answer in upper case
+     */
+    public String getAnswer() {
+        return PackedWords.decode(answer);
+    }
+
+    /**
+     * Getter for the packed answer
+     *
+     * @return the packed answer
+     */
+    public int getPackedAnswer() {
+        return answer;
+    }
+
+    /**
+     * Checks whether the game has been won or lost
+     *
+     * @return true once the game is over
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Gets how many guesses have been scored so far
+     *
+     * @return the number of guesses made
+     */
+    public int getGuessCount() {
+        return guessCount;
+    }
+
+    /**
+     * Gets one of the guesses made so far
+     *
+     * @param index the guess number, starting at 0
+     * @return the packed guess
+     */
+    public int getPackedGuess(int index) {
+        return packedGuesses[index];
+    }
+
+    /**
+     * Gets the feedback given for one of the guesses made so far
+     *
+     * @param index the guess number, starting at 0
+     * @return the pattern
+     */
+    public int getPattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * Gets the best-known state of a letter
+     *
+     * @param letter the letter, in any case
+     * @return FeedbackPattern.GRAY, YELLOW or GREEN, or UNKNOWN
+     */
+    public int getLetterState(char letter) {
+        int index = (letter | 0x20) - 'a';
+        if (index < 0 || index >= 26) {
+            return UNKNOWN;
+        }
+        return letterStates[index];
+    }
+
+    /**
+     * Gets the answers that still fit every guess so far
+     *
+     * @return the live candidate set
+     */
+    public CandidateSet getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Gets the word bank the game checks guesses against
+     *
+     * @return the word bank
+     */
+    public WordleWordBank getWordBank() {
+        return wordBank;
+    }
+}
@@ -1,36 +1,54 @@
 package wordle.model;
 
 import java.awt.Color;
+import java.util.function.Consumer;
 
+import events.GuessEvent;
+import logging.Logger;
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+import pipeline.ActionPipeline;
+import pipeline.ViewBatch;
 import wordle.controller.*;
 
 
 
 /**
- * A single instance of a game object.
+ * A single instance of a game object, as seen by the GUI.
+ * The rules live in a WordleEngine; this class subscribes to it and keeps
+ * the colored tiles and keyboard of the WordleGUI in step with its events.
+ * 
+ * The engine is only ever used on the pipeline's worker thread. Its events
+ * are turned into a batch of changes that is applied on the event dispatch
+ * thread once the guess has been scored, so a slow guess never holds up
+ * painting or typing. Everything else here belongs to the event dispatch
+ * thread.
  */
-public class WordleGame {
+public class WordleGame implements WordleListener {
+    private static final Logger LOG = Logger.get(WordleGame.class);
+    private static final Histogram GUESS_TIME = MetricsRegistry.timer("wordle.checkGuess");
+    private static final Counter REJECTED_GUESSES = MetricsRegistry.counter("wordle.guesses.rejected");
+    
     private LetterTile[][] answerGrid;
-    private String answer;
     private int currentRow = 0;
     private int currentCol = 0;
     private WordleGUI gui;
-    private WordleWordBank wordBank;
+    private WordleEngine engine;
     
-    // Error message if the user enters a word that is too short
-    private static final String WORD_IS_TOO_SHORT = "This is too short. Please enter a word that is 5 letters long";
+    // Runs guesses and hints off the event dispatch thread
+    private final ActionPipeline pipeline = new ActionPipeline("wordle-actions");
     
-    // Error message if the user enters an invalid input(numbers, symbols, etc).
-    private static final String INVALID_INPUT = "Invalid input, Wordle uses only the alphabets from A-Z so use letters only";
-
-    // Error message if the user enters a word that is too long
-    private static final String WORD_IS_TOO_LONG = "This is too long. Please enter a word that is 5 letters long";
-
-    // Error message if the user enters a word that is invalid
-    private static final String INVALID_WORD = "Not a valid word. Please enter a valid word";
-
-    // message if the user guesses the word and wins
-    private static final String YOU_WIN = "You genius!!! You win!!)";
+    // The batch the engine's events go into while a guess is scored, and the
+    // message to show once the rest of the batch is done; worker thread only
+    private ViewBatch batch;
+    private String batchMessage;
+    
+    // How many guesses are being scored, how many words are left, and whether
+    // the game has ended, as last shown on screen
+    private int guessesInFlight = 0;
+    private int remainingCount = 0;
+    private boolean gameOver = false;
 
     /**
      * Fetches the answerGrid array
@@ -42,7 +60,9 @@ public class WordleGame {
     }
 
     /**
-     * Sets up a new WordleGame (does not start the game on its own)
+     * Sets up a new WordleGame (does not start the game on its own).
+     * Only the empty grid is made here, so this is quick enough to call
+     * before the window is shown; call start once the words have loaded.
      * 
      * @param gui the controller GUI that owns the WordleGame - call using
      *            (this) from the GUI
@@ -51,12 +71,6 @@ public class WordleGame {
 
         // Points back to the gui that created the game
         this.gui = gui;
-
-        // Word bank for the game to draw from
-        this.wordBank = new WordleWordBank();
-
-        // Chooses a random answer from the common words in the word bank.
-        this.answer = wordBank.getRandomCommonWord();
         
         // Two-dimensional array that will hold the user's answers.
         this.answerGrid = new LetterTile[6][5];
@@ -66,6 +80,28 @@ public class WordleGame {
         }
     }
 
+    /**
+     * Starts the game with a word bank that has finished loading
+     * 
+     * @param wordBank the words the answer and guesses come from
+     */
+    public void start(WordleWordBank wordBank) {
+        // The engine draws a random answer from the common words in the word bank
+        // and tells this game about every guess
+        this.engine = new WordleEngine(wordBank);
+        engine.addListener(this);
+        remainingCount = engine.getCandidates().size();
+    }
+    
+    /**
+     * Checks whether the words have loaded and guesses can be made
+     * 
+     * @return true once start has been called
+     */
+    public boolean isReady() {
+        return engine != null;
+    }
+
     /**
      * Fetches a tile from the grid
      * @param row the row the tile is found in
@@ -78,95 +114,187 @@ public class WordleGame {
     
     /**
      * Checks to see if the user's guess was correct.
+     * The engine scores it on the worker thread and calls back guessEvaluated,
+     * and the tiles, keys and word count all change together afterwards.
+     * Any hint still being worked out is cancelled, as the guess makes it
+     * out of date.
      * 
      * @param guess The user's input guess
      */
     public void checkGuess(String guess) {
-        // Check if the guess length is 5.
-        if (guess.length() != 5) {
-            if (guess.length() < 5) {
-                gui.displayMessage(WORD_IS_TOO_SHORT);
-            } else {
-                gui.displayMessage(WORD_IS_TOO_LONG);
-            }
+        if (engine == null) {
             return;
         }
+        guessesInFlight++;
+        pipeline.submit(new ActionPipeline.Action() {
+            @Override
+            public void run(ViewBatch viewBatch) {
+                scoreGuess(guess, viewBatch);
+            }
 
-        // Check if the guess contains only letters.
-        for (char c : guess.toCharArray()) {
-            if (!Character.isLetter(c)) {
-                gui.displayMessage(INVALID_INPUT);
-                return;
+            @Override
+            public void onFailure(Exception failure, ViewBatch viewBatch) {
+                // the guess's changes were dropped; let the player type again
+                viewBatch.add(() -> {
+                    guessesInFlight--;
+                    gui.repaint();
+                    gui.displayMessage("Something went wrong checking that guess");
+                });
             }
+        });
+    }
+    
+    /**
+     * Scores a guess on the worker thread and adds the changes it makes to
+     * the batch
+     * 
+     * @param guess The user's input guess
+     * @param viewBatch the changes to apply on the event dispatch thread
+     */
+    private void scoreGuess(String guess, ViewBatch viewBatch) {
+        batch = viewBatch;
+        batchMessage = null;
+        GuessResult result;
+        GuessEvent event = new GuessEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            result = engine.submitGuess(guess);
+        } finally {
+            batch = null;
         }
-
-        // Check if the guess is in the word bank
-        if (!wordBank.wordExists(guess)) {
-            gui.displayMessage(INVALID_WORD);
+        GUESS_TIME.recordSince(start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.guess = guess;
+            event.status = result.getStatus().name();
+            event.pattern = result.isScored() ? FeedbackPattern.toString(result.getPattern()) : "";
+            event.remaining = result.getRemaining();
+            event.commit();
+        }
+        if (!result.isScored()) {
+            REJECTED_GUESSES.increment();
+        }
+        String message = batchMessage;
+        int remaining = result.getRemaining();
+        viewBatch.add(() -> {
+            guessesInFlight--;
+            remainingCount = remaining;
+            gui.repaint();
+            gui.updateRemaining();
+            // the dialog is modal, so it goes after everything else
+            if (message != null) {
+                gui.displayMessage(message);
+            }
+        });
+    }
+    
+    /**
+     * Works out the best next guess on the worker thread. The hint is thrown
+     * away if another guess or hint is asked for before it is shown.
+     * 
+     * @param hints the engine that finds the hint
+     * @param timeoutMillis how long the search may take
+     * @param show given the hint, or null if no words fit, on the event
+     *             dispatch thread
+     */
+    public void suggestHint(HintEngine hints, long timeoutMillis, Consumer<Hint> show) {
+        if (engine == null) {
             return;
         }
-
-
-        // Check if the entered word is the right length
-        if (guess.length() == 5) {
-            if(wordBank.wordExists(guess) == false) {
-                System.out.println(guess + " is not a valid word!");
-                return;
+        pipeline.submitLatest(viewBatch -> {
+            Hint hint = hints.suggest(engine, timeoutMillis);
+            if (Thread.interrupted()) {
+                // cancelled part way through, so the hint is only partly searched
+                throw new InterruptedException();
             }
-            
-            // If the guess is correct, turn every relevant tile green and win the game
-            if (guess.equals(answer)) {
-                for (int i = 0; i < 5; i++) {
-                    answerGrid[currentRow][i].setLetter(guess.charAt(i));
-                    answerGrid[currentRow][i].setColor(Color.green);
-                }
-                gui.repaint();
-                endGame(true);
-                return;
-                
+            viewBatch.add(() -> show.accept(hint));
+        });
+    }
+    
+    /**
+     * Colors the keyboard as the engine learns more about a letter.
+     * A key only ever goes from gray to yellow to green.
+     * 
+     * @param letter the letter whose key changes
+     * @param state the letter's new state
+     */
+    @Override
+    public void keyStateChanged(char letter, int state) {
+        Color color = colorOf(state);
+        batch.add(() -> gui.setKeyColor(letter, color));
+    }
+    
+    /**
+     * Updates the grid for a guess the engine has checked
+     * 
+     * @param result what happened to the guess
+     */
+    @Override
+    public void guessEvaluated(GuessResult result) {
+        if (!result.isScored()) {
+            if (result.getStatus() != GuessStatus.GAME_OVER) {
+                batch.add(() -> gui.shakeRow(currentRow));
+            }
+            batchMessage = result.getStatus().getMessage();
+            return;
+        }
+        
+        // Turn all letters in the correct place green, those in the wrong place
+        // yellow, those not in the word dark gray. A repeated letter is only
+        // yellow as many times as it is left in the answer.
+        String guess = result.getGuess();
+        int row = result.getRow();
+        int pattern = result.getPattern();
+        batch.add(() -> {
+            for (int i = 0; i < 5; i++) {
+                answerGrid[row][i].setLetter(guess.charAt(i));
+                answerGrid[row][i].setColor(colorOf(FeedbackPattern.digitAt(pattern, i)));
+            }
+            gui.revealRow(row);
+        });
+        for (int i = 0; i < 5; i++) {
+            int digit = FeedbackPattern.digitAt(pattern, i);
+            if (digit == FeedbackPattern.GREEN) {
+                LOG.debug("{} is in the correct position!", guess.charAt(i));
+            } else if (digit == FeedbackPattern.YELLOW) {
+                LOG.debug("{} is in the word, but not in the correct position!", guess.charAt(i));
             } else {
-                // If the guess was incorrect, turn all letters in the correct place green,
-                // those in the wrong place yellow, those not in the word dark gray.
-                // If a tile in the keyboard is already green, does not overwrite it.
-                for (int i = 0; i < 5; i++) {
-                    answerGrid[currentRow][i].setLetter(guess.charAt(i));
-                    if (guess.charAt(i) == (answer.charAt(i))) {
-                        answerGrid[currentRow][i].setColor(Color.green);
-                        gui.setKeyColor(guess.charAt(i), Color.green);
-                        System.out.println(guess.charAt(i) + " is in the correct position!");
-                        gui.repaint();
-
-                    } else if (answer.indexOf(guess.charAt(i)) != -1) {
-                        answerGrid[currentRow][i].setColor(Color.yellow);
-                        if (gui.findColorOfLetter(guess.charAt(i))!=Color.green) {
-                            gui.setKeyColor(guess.charAt(i), Color.yellow);
-                        }
-                        System.out.println(guess.charAt(i) + " is in the word, but not in the correct position!");
-                       gui.repaint();
-                    } else {
-                        answerGrid[currentRow][i].setColor(Color.gray);
-                        if (gui.findColorOfLetter(guess.charAt(i))!=Color.green&&gui.findColorOfLetter(guess.charAt(i))!=Color.yellow) {
-                            gui.setKeyColor(guess.charAt(i), Color.gray);
-                        }
-                        System.out.println(guess.charAt(i) + " is not in the word!");
-                        gui.repaint();
-                    }
-                }
+                LOG.debug("{} is not in the word!", guess.charAt(i));
             }
         }
         
+        if (result.getStatus() == GuessStatus.WON) {
+            endGame(true);
+            return;
+        }
+        
         // Resets the current column to the beginning and moves down one row
-        currentCol = 0;
-        currentRow = currentRow + 1;
+        batch.add(() -> {
+            currentCol = 0;
+            currentRow = currentRow + 1;
+        });
         
         // If you have run out of rows, lose the game.
-        if (currentRow >= answerGrid.length) {
+        if (result.getStatus() == GuessStatus.LOST) {
             endGame(false);
         }
-        return;
     }
-
     
+    /**
+     * Helper method that turns a tile state into its color
+     * 
+     * @param state FeedbackPattern.GRAY, YELLOW or GREEN
+     * @return the color to paint the tile
+     */
+    private static Color colorOf(int state) {
+        if (state == FeedbackPattern.GREEN) {
+            return Color.green;
+        } else if (state == FeedbackPattern.YELLOW) {
+            return Color.yellow;
+        }
+        return Color.gray;
+    }
 
     /**
      * Helper method to create a String from the letters in a row
@@ -182,17 +310,18 @@ public class WordleGame {
     }
 
     /**
-     * Helper method that ends the game and informs the GUI.
+     * Helper method that ends the game and informs the GUI once the
+     * guess's batch is shown.
      * 
      * @param won true if the game was won, false if lost.
      */
     private void endGame(boolean won) {
-
+        batch.add(() -> gameOver = true);
         if (won) {
-            gui.displayMessage(YOU_WIN);
+            batchMessage = GuessStatus.WON.getMessage();
         } else {
-            gui.displayMessage(
-                    "Better luck next time. The word to guess is " + answer);
+            batchMessage = GuessStatus.LOST.getMessage()
+                    + " The word to guess is " + engine.getAnswer();
 
         }
 
@@ -206,9 +335,14 @@ public class WordleGame {
      * @param letter the letter to be added
      */
     public void addLetter(char letter) {
+        // No rows to type into before the words load or once the game is over,
+        // and the row being scored can't be changed until its colors are in
+        if (engine == null || gameOver || guessesInFlight > 0) {
+            return;
+        }
         if (letter == '\u21B5') {
             String guess = concatGuess();
-            System.out.println(guess);
+            LOG.debug("Guess entered: {}", guess);
             checkGuess(guess);
             gui.repaint();
             return;
@@ -237,8 +371,33 @@ public class WordleGame {
     public int getCurrentRow() {
         return currentRow;
     }
+    
+    /**
+     * Gets the engine that runs this game's rules. It belongs to the
+     * pipeline's worker thread while the game is being played.
+     * 
+     * @return the engine, null before the words load
+     */
+    public WordleEngine getEngine() {
+        return engine;
+    }
+    
+    /**
+     * Gets how many common words still fit every guess so far
+     * 
+     * @return the number of words remaining as of the last guess shown,
+     *         0 before the words load
+     */
+    public int getRemainingCount() {
+        return remainingCount;
+    }
+    
+    /**
+     * Gets the word bank the game draws from
+     * 
+     * @return the word bank
+     */
+    public WordleWordBank getWordBank() {
+        return engine.getWordBank();
+    }
 }
-
-
-
-
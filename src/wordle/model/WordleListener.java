@@ -0,0 +1,23 @@
+package wordle.model;
+
+/**
+ * Receives events from a WordleEngine. For a scored guess, the key events
+ * come first and guessEvaluated comes last.
+ */
+public interface WordleListener {
+
+    /**
+     * Called when the best-known state of a letter improves
+     *
+     * @param letter the upper-case letter
+     * @param state  FeedbackPattern.GRAY, YELLOW or GREEN
+     */
+    void keyStateChanged(char letter, int state);
+
+    /**
+     * Called once for every submitted guess, scored or not
+     *
+     * @param result what happened to the guess
+     */
+    void guessEvaluated(GuessResult result);
+}
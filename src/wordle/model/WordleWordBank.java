@@ -1,86 +1,108 @@
 package wordle.model;
-import java.util.Scanner;
 import java.lang.Math;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import lexicon.LengthView;
+import lexicon.Lexicon;
+import logging.Logger;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
 
 /**
- * Class that holds an array of five-letter common words
- * And an array of almost all the five-letter words in the English alphabet.
+ * Class that holds a list of five-letter common words
+ * And a list of almost all the five-letter words in the English alphabet.
+ * The words come from the shared lexicon.Lexicon.
+ * Both lists are also kept as sorted arrays of packed ints (see PackedWords).
+ * In compact mode the String lists aren't unpacked when the bank is made;
+ * single-word getters unpack one word on demand, and the whole-list getters
+ * unpack the list once, on their first call, into a copy every bank shares.
+ * Indexes mean the same thing in both modes.
  */
 public class WordleWordBank {
-    private File commonWordFile;
-    private File allWordsFile;
-    private String[] commonWords;
-    private String[] allWords;
-    private Scanner commonReader;
-    private Scanner allReader;
+    private static final Logger LOG = Logger.get(WordleWordBank.class);
+    private static final Histogram WORD_EXISTS_TIME = MetricsRegistry.timer("wordle.wordExists");
+    
+    private List<String> commonWords;
+    private List<String> allWords;
+    private WordIndex allWordsIndex;
+    private int[] packedCommonWords;
+    private int[] commonInRankOrder;
+    private int[] packedAllWords;
+    private SharedWords shared;
+    private boolean compact;
     
     /**
      * Creates a new WordBank for WordleGame to use
      */
     public WordleWordBank() {
-        this.commonWordFile = new File("common_words.txt");
-        this.allWordsFile = new File("EnglishWords.txt");
-        
-        try {
-            this.commonReader = new Scanner(commonWordFile);
-        } catch (FileNotFoundException e) {
-            System.out.println("File not found");
-            e.printStackTrace();
-        }
-        
+        this(false);
+    }
+    
+    /**
+     * Creates a new WordBank, optionally in compact mode. The word lists are
+     * shared by every WordBank, so this is cheap after the first call.
+     * @param compact true to keep only the packed int arrays and drop the Strings
+     */
+    public WordleWordBank(boolean compact) {
+        this.compact = compact;
+        SharedWords shared;
         try {
-            
-            this.allReader = new Scanner(allWordsFile);
-        } catch (FileNotFoundException e) {
-            System.out.println("File not found");
-            e.printStackTrace();
+            shared = SharedWords.get();
+        } catch (IOException e) {
+            LOG.error("Couldn't load the Wordle word lists", e);
+            throw new UncheckedIOException(e);
         }
+        this.shared = shared;
+        this.packedCommonWords = shared.packedCommonWords;
+        this.commonInRankOrder = shared.commonInRankOrder;
+        this.packedAllWords = shared.packedAllWords;
+        this.allWordsIndex = shared.allWordsIndex;
         
-        
-        // Creates an ArrayList to hold all the common words, then casts it to an Array
-        ArrayList<String> tempCommonList = new ArrayList<String>();
-        while(commonReader.hasNextLine()) {
-            String word = commonReader.nextLine();
-            if (word.length() == 5) {
-                tempCommonList.add(word.toUpperCase());
-            }
+        if (!compact) {
+            this.commonWords = shared.getCommonWords();
+            this.allWords = shared.getAllWords();
         }
-        
-        commonReader.close();
-        
-        this.commonWords = tempCommonList.toArray(new String[0]);
-        
-        // Creates an ArrayList to hold all the words, then casts it to an Array
-        ArrayList<String> tempAllWordList = new ArrayList<String>();
-        while(allReader.hasNextLine()){
-            String word = allReader.nextLine();
-            if(word.length()==5) {
-                tempAllWordList.add(word.toUpperCase());
-            }
-        }
-        
-        allReader.close();
-        
-        this.allWords = tempAllWordList.toArray(new String[0]);
-        
     }
     
     /**
      * Access the list of common words
-     * @return An array of common five-letter words
+     * @return A copy of the common five-letter words, in the order of common_words.txt
      */
     public String[] getCommonWords() {
-        return commonWords;
+        return getCommonWordList().toArray(new String[0]);
     }
     
     /**
      * Access the list of all words
-     * @return An array of all five-letter words
+     * @return A copy of all the five-letter words
      */
     public String[] getAllWords() {
+        return getAllWordList().toArray(new String[0]);
+    }
+    
+    /**
+     * Access the list of common words without copying it
+     * @return An unmodifiable list of common five-letter words, in the order of common_words.txt
+     */
+    public List<String> getCommonWordList() {
+        if (compact) {
+            return shared.getCommonWords();
+        }
+        return commonWords;
+    }
+    
+    /**
+     * Access the list of all words without copying it
+     * @return An unmodifiable list of all five-letter words
+     */
+    public List<String> getAllWordList() {
+        if (compact) {
+            return shared.getAllWords();
+        }
         return allWords;
     }
     
@@ -90,7 +112,10 @@ public class WordleWordBank {
      * @return the word at index
      */
     public String getCommonWordAt(int index) {
-        return commonWords[index];
+        if (compact) {
+            return PackedWords.decode(commonInRankOrder[index]);
+        }
+        return commonWords.get(index);
     }
     
     /**
@@ -99,7 +124,10 @@ public class WordleWordBank {
      * @return the word at index
      */
     public String getAnyWordAt(int index) {
-        return allWords[index];
+        if (compact) {
+            return PackedWords.decode(packedAllWords[index]);
+        }
+        return allWords.get(index);
     }
     
     /**
@@ -107,8 +135,12 @@ public class WordleWordBank {
      * @return a random entry from commonWords array
      */
     public String getRandomCommonWord() {
-        int index = (int) ((commonWords.length) * Math.random());
-        return commonWords[index];
+        if (compact) {
+            int index = (int) ((commonInRankOrder.length) * Math.random());
+            return PackedWords.decode(commonInRankOrder[index]);
+        }
+        int index = (int) ((commonWords.size()) * Math.random());
+        return commonWords.get(index);
     }
     
     /**
@@ -116,23 +148,246 @@ public class WordleWordBank {
      * @return a random entry from allWords array
      */
     public String getRandomAnyWord() {
-        int index = (int) ((allWords.length) * Math.random());
-        return allWords[index];
+        if (compact) {
+            return PackedWords.decode(getRandomPackedAnyWord());
+        }
+        int index = (int) ((allWords.size()) * Math.random());
+        return allWords.get(index);
     }
     
     /**
-     * Searches the list of all words to see if a certain word exists
-     * @param s The word to be searched for
+     * Looks up the hash index of all words to see if a certain word exists
+     * @param s The word to be searched for, in any case
      * @return True if the word exists, false if not.
-     * i changed the == to .equals as we are checking for the content 
      */
     public Boolean wordExists(String s) {
-        boolean exists = false;
-        for(int i = 0; i < allWords.length; i++) {
-            if(allWords[i].equals(s.toUpperCase())){
-                exists = true;
+        long start = System.nanoTime();
+        boolean exists = allWordsIndex.contains(s);
+        WORD_EXISTS_TIME.recordSince(start);
+        return exists;
+    }
+    
+    /**
+     * Checks if a packed word is in the list of all words
+     * @param code the packed word, see PackedWords.encode
+     * @return True if the word exists, false if not.
+     */
+    public boolean packedWordExists(int code) {
+        return allWordsIndex.containsCode(code);
+    }
+    
+    /**
+     * Checks if a packed word is in the list of common words
+     * @param code the packed word, see PackedWords.encode
+     * @return True if the word is common, false if not.
+     */
+    public boolean packedCommonWordExists(int code) {
+        return Arrays.binarySearch(packedCommonWords, code) >= 0;
+    }
+    
+    /**
+     * Access the packed common words
+     * @return a copy of the packed common five-letter words in alphabetical order
+     */
+    public int[] getPackedCommonWords() {
+        return packedCommonWords.clone();
+    }
+    
+    /**
+     * Access the packed list of all words
+     * @return a copy of all the packed five-letter words in alphabetical order
+     */
+    public int[] getPackedAllWords() {
+        return packedAllWords.clone();
+    }
+    
+    /**
+     * Access every packed word a player may guess: all the words plus the
+     * common words that aren't in the English list
+     * @return a copy of the packed guesses in alphabetical order
+     */
+    public int[] getPackedAllowedGuesses() {
+        return shared.packedAllowedGuesses.clone();
+    }
+    
+    /**
+     * Fetches a random packed common word
+     * @return a random entry from the packed common words
+     */
+    public int getRandomPackedCommonWord() {
+        int index = (int) ((packedCommonWords.length) * Math.random());
+        return packedCommonWords[index];
+    }
+    
+    /**
+     * Fetches a random packed word from all words
+     * @return a random entry from the packed list of all words
+     */
+    public int getRandomPackedAnyWord() {
+        int index = (int) ((packedAllWords.length) * Math.random());
+        return packedAllWords[index];
+    }
+    
+    /**
+     * Starts tracking which common words are still possible in a game
+     * @return a set holding every common word; the bitsets behind it are shared
+     */
+    public CandidateSet newCandidateSet() {
+        try {
+            return new CandidateSet(SharedWords.get().getCandidateIndex());
+        } catch (IOException e) {
+            // the shared words were loaded when this bank was created
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Checks if the bank is in compact mode
+     * @return true if only the packed arrays are kept
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+    
+    /**
+     * Helper method that unpacks an array of packed words
+     * @param codes the packed words
+     * @return the words as an unmodifiable list of upper-case Strings
+     */
+    private static List<String> decodeAll(int[] codes) {
+        String[] words = new String[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            words[i] = PackedWords.decode(codes[i]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(words));
+    }
+    
+    /**
+     * The five-letter word lists shared by every WordBank in the JVM.
+     * They are built once from the Lexicon and never change.
+     */
+    private static final class SharedWords {
+        private static volatile SharedWords instance;
+        private final int[] packedCommonWords;
+        private final int[] commonInRankOrder;
+        private final int[] packedAllWords;
+        private final int[] packedAllowedGuesses;
+        private final WordIndex allWordsIndex;
+        private List<String> commonWords;
+        private List<String> allWords;
+        private CandidateIndex candidateIndex;
+        
+        /**
+         * Gets the shared word lists, building them on the first call
+         * @return the shared word lists
+         * @throws IOException if the dictionary can't be loaded
+         */
+        static SharedWords get() throws IOException {
+            SharedWords shared = instance;
+            if (shared == null) {
+                synchronized (SharedWords.class) {
+                    shared = instance;
+                    if (shared == null) {
+                        shared = new SharedWords(Lexicon.get().getWords(PackedWords.WORD_LENGTH));
+                        instance = shared;
+                    }
+                }
             }
+            return shared;
+        }
+        
+        /**
+         * Builds the packed lists from the lexicon's five-letter words
+         * @param words the five-letter words
+         */
+        private SharedWords(LengthView words) {
+            // Views are sorted alphabetically, which is also packed order, so
+            // the packed arrays come out sorted. Common words are keyed by rank
+            // so the String list keeps the order of common_words.txt
+            int[] tempAllWords = new int[words.size()];
+            int allCount = 0;
+            long[] commonByRank = new long[words.size()];
+            int commonCount = 0;
+            for (int i = 0; i < words.size(); i++) {
+                int code = (int) words.getPackedWord(i);
+                if (words.isEnglish(i)) {
+                    tempAllWords[allCount++] = code;
+                }
+                if (words.isCommon(i)) {
+                    commonByRank[commonCount++] = ((long) words.getCommonRank(i) << 32) | code;
+                }
+            }
+            Arrays.sort(commonByRank, 0, commonCount);
+            
+            this.commonInRankOrder = new int[commonCount];
+            for (int i = 0; i < commonCount; i++) {
+                commonInRankOrder[i] = (int) commonByRank[i];
+            }
+            this.packedCommonWords = commonInRankOrder.clone();
+            Arrays.sort(packedCommonWords);
+            this.packedAllWords = Arrays.copyOf(tempAllWords, allCount);
+            this.packedAllowedGuesses = union(packedAllWords, packedCommonWords);
+            
+            // Indexes all the words once so wordExists doesn't scan the array
+            this.allWordsIndex = new WordIndex(packedAllWords);
+        }
+        
+        /**
+         * Merges two sorted arrays of packed words
+         * @param a sorted packed words
+         * @param b more sorted packed words
+         * @return every word in either array once, sorted
+         */
+        private static int[] union(int[] a, int[] b) {
+            int[] merged = new int[a.length + b.length];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < a.length || j < b.length) {
+                int next;
+                if (j == b.length || (i < a.length && a[i] <= b[j])) {
+                    next = a[i++];
+                } else {
+                    next = b[j++];
+                }
+                if (count == 0 || merged[count - 1] != next) {
+                    merged[count++] = next;
+                }
+            }
+            return Arrays.copyOf(merged, count);
+        }
+        
+        /**
+         * Gets the common words as Strings, unpacking them on the first call
+         * @return the common words in the order of common_words.txt
+         */
+        synchronized List<String> getCommonWords() {
+            if (commonWords == null) {
+                commonWords = decodeAll(commonInRankOrder);
+            }
+            return commonWords;
+        }
+        
+        /**
+         * Gets all the words as Strings, unpacking them on the first call
+         * @return all the five-letter words in alphabetical order
+         */
+        synchronized List<String> getAllWords() {
+            if (allWords == null) {
+                allWords = decodeAll(packedAllWords);
+            }
+            return allWords;
+        }
+        
+        /**
+         * Gets the candidate bitsets for the common words, building them on the first call
+         * @return the bitsets over the packed common words
+         */
+        synchronized CandidateIndex getCandidateIndex() {
+            if (candidateIndex == null) {
+                candidateIndex = new CandidateIndex(packedCommonWords);
+            }
+            return candidateIndex;
         }
-        return exists;
     }
 }
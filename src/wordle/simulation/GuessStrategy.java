@@ -0,0 +1,27 @@
+package wordle.simulation;
+
+import wordle.model.CandidateSet;
+
+/**
+ * Picks the next guess in a simulated game. One strategy object is shared by
+ * every game in a simulation, and games run in parallel, so implementations
+ * must be thread-safe.
+ */
+public interface GuessStrategy {
+
+    /**
+     * Chooses the next guess
+     *
+     * @param candidates  the answers that still fit every clue so far
+     * @param guessesMade how many guesses have been made already
+     * @return the packed guess (see wordle.model.PackedWords)
+     */
+    int nextGuess(CandidateSet candidates, int guessesMade);
+
+    /**
+     * A short name for reports
+     *
+     * @return the strategy's name
+     */
+    String getName();
+}
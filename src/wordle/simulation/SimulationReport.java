@@ -0,0 +1,156 @@
+package wordle.simulation;
+
+import java.util.Arrays;
+
+/**
+ * The results of a simulation run: how many guesses each game took, how fast
+ * the games went, and how long each guess took.
+ */
+public class SimulationReport {
+
+    /**
+     * the name of the strategy that played
+     */
+    private final String strategy;
+
+    /**
+     * solved[k] is the number of games won in k guesses; index 0 is unused
+     */
+    private final int[] solved;
+
+    /**
+     * the number of games not won within the guess limit
+     */
+    private final int failures;
+
+    /**
+     * the wall-clock time of the whole run
+     */
+    private final long elapsedNanos;
+
+    /**
+     * the time each guess took, sorted
+     */
+    private final long[] guessNanos;
+
+    /**
+     * Creates a new report
+     *
+     * @param strategy     the name of the strategy that played
+     * @param solved       games won per guess count, index 0 unused
+     * @param failures     games lost
+     * @param elapsedNanos how long the run took
+     * @param guessNanos   how long each guess took, in any order
+     */
+    public SimulationReport(String strategy, int[] solved, int failures,
+            long elapsedNanos, long[] guessNanos) {
+        this.strategy = strategy;
+        this.solved = solved.clone();
+        this.failures = failures;
+        this.elapsedNanos = elapsedNanos;
+        this.guessNanos = guessNanos.clone();
+        Arrays.sort(this.guessNanos);
+    }
+
+    /**
+     * a getter for the number of games played
+     *
+     * @return games won plus games lost
+     */
+    public int getGames() {
+        int games = failures;
+        for (int count : solved) {
+            games += count;
+        }
+        return games;
+    }
+
+    /**
+     * gets the number of games won in a certain number of guesses
+     *
+     * @param guesses the number of guesses, 1 to 6
+     * @return how many games took that many guesses
+     */
+    public int getSolvedIn(int guesses) {
+        return solved[guesses];
+    }
+
+    /**
+     * a getter for the number of games lost
+     *
+     * @return the number of failures
+     */
+    public int getFailures() {
+        return failures;
+    }
+
+    /**
+     * gets the share of games lost
+     *
+     * @return failures divided by games, from 0 to 1
+     */
+    public double getFailureRate() {
+        int games = getGames();
+        return games == 0 ? 0 : (double) failures / games;
+    }
+
+    /**
+     * gets the average number of guesses in games that were won
+     *
+     * @return the mean guess count of wins
+     */
+    public double getAverageGuesses() {
+        long total = 0;
+        int wins = 0;
+        for (int k = 1; k < solved.length; k++) {
+            total += (long) k * solved[k];
+            wins += solved[k];
+        }
+        return wins == 0 ? 0 : (double) total / wins;
+    }
+
+    /**
+     * gets how many games were played per second of wall-clock time
+     *
+     * @return the game throughput
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getGames() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * gets a percentile of the time per guess
+     *
+     * @param percentile from 0 to 100
+     * @return the guess latency at that percentile, in nanoseconds
+     */
+    public long getGuessLatencyNanos(double percentile) {
+        if (guessNanos.length == 0) {
+            return 0;
+        }
+        int i = (int) Math.ceil(percentile / 100 * guessNanos.length) - 1;
+        return guessNanos[Math.max(0, Math.min(i, guessNanos.length - 1))];
+    }
+
+    /**
+     * Writes the report out as a few lines of text
+     *
+     * @return the report
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("strategy %s: %d games in %.1f ms (%.0f games/s)%n",
+                strategy, getGames(), elapsedNanos / 1e6, getGamesPerSecond()));
+        for (int k = 1; k < solved.length; k++) {
+            out.append(String.format("  %d guesses: %d%n", k, solved[k]));
+        }
+        out.append(String.format("  failed:    %d (%.2f%%)%n", failures,
+                getFailureRate() * 100));
+        out.append(String.format("  average %.3f guesses per win%n",
+                getAverageGuesses()));
+        out.append(String.format("  guess latency p50 %.1f us, p99 %.1f us",
+                getGuessLatencyNanos(50) / 1e3, getGuessLatencyNanos(99) / 1e3));
+        return out.toString();
+    }
+}
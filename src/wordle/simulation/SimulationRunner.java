@@ -0,0 +1,166 @@
+package wordle.simulation;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import wordle.model.GuessResult;
+import wordle.model.GuessStatus;
+import wordle.model.PatternMatrix;
+import wordle.model.PatternMatrixBuilder;
+import wordle.model.WordleEngine;
+import wordle.model.WordleWordBank;
+
+/**
+ * Plays Wordle without a GUI, once per answer, with a pluggable guess
+ * strategy. Games run in parallel on every core and the results are
+ * collected into a SimulationReport.
+ */
+public class SimulationRunner {
+
+    /**
+     * the number of guesses a player gets
+     */
+    public static final int MAX_GUESSES = WordleEngine.MAX_GUESSES;
+
+    /**
+     * the word bank the games draw from
+     */
+    private final WordleWordBank bank;
+
+    /**
+     * the strategy that plays every game
+     */
+    private final GuessStrategy strategy;
+
+    /**
+     * Creates a new runner
+     *
+     * @param bank     the word bank the games draw from
+     * @param strategy the strategy that plays every game; must be thread-safe
+     */
+    public SimulationRunner(WordleWordBank bank, GuessStrategy strategy) {
+        this.bank = bank;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Plays one game for every common word
+     *
+     * @return the results
+     */
+    public SimulationReport runAll() {
+        return run(bank.getPackedCommonWords());
+    }
+
+    /**
+     * Plays games for a random sample of the common words. The same seed
+     * always picks the same answers.
+     *
+     * @param games how many games to play
+     * @param seed  the seed for picking answers
+     * @return the results
+     */
+    public SimulationReport runSample(int games, long seed) {
+        int[] common = bank.getPackedCommonWords();
+        Random random = new Random(seed);
+        int[] answers = new int[games];
+        for (int i = 0; i < games; i++) {
+            answers[i] = common[random.nextInt(common.length)];
+        }
+        return run(answers);
+    }
+
+    /**
+     * Plays one game for each answer
+     *
+     * @param answers the packed answers to play
+     * @return the results
+     */
+    public SimulationReport run(int[] answers) {
+        // guesses[g] is how many guesses game g took, 0 if it was lost;
+        // each game writes only its own slots, so no locking is needed
+        int[] guesses = new int[answers.length];
+        long[] latencies = new long[answers.length * MAX_GUESSES];
+        Arrays.fill(latencies, -1);
+
+        long start = System.nanoTime();
+        IntStream.range(0, answers.length).parallel().forEach(
+                g -> guesses[g] = play(answers[g], latencies, g * MAX_GUESSES));
+        long elapsed = System.nanoTime() - start;
+
+        int[] solved = new int[MAX_GUESSES + 1];
+        int failures = 0;
+        for (int count : guesses) {
+            if (count == 0) {
+                failures++;
+            } else {
+                solved[count]++;
+            }
+        }
+        long[] guessNanos = Arrays.stream(latencies).filter(t -> t >= 0).toArray();
+        return new SimulationReport(strategy.getName(), solved, failures,
+                elapsed, guessNanos);
+    }
+
+    /**
+     * Plays a single game
+     *
+     * @param answer    the packed answer
+     * @param latencies where to record how long each guess took
+     * @param offset    this game's first slot in latencies
+     * @return the number of guesses it took to win, or 0 if the game was lost
+     */
+    private int play(int answer, long[] latencies, int offset) {
+        WordleEngine engine = new WordleEngine(bank, answer);
+        for (int turn = 0; turn < MAX_GUESSES; turn++) {
+            long start = System.nanoTime();
+            int guess = strategy.nextGuess(engine.getCandidates(), turn);
+            GuessResult result = engine.submitGuess(guess);
+            latencies[offset + turn] = System.nanoTime() - start;
+            if (result.getStatus() == GuessStatus.WON) {
+                return turn + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Runs a simulation from the command line
+     *
+     * @param args the strategy (first, random or entropy), then optionally
+     *             the number of games to sample and the seed; with no count
+     *             every common word is played
+     */
+    public static void main(String[] args) {
+        WordleWordBank bank = new WordleWordBank(true);
+        String name = args.length > 0 ? args[0] : "first";
+
+        GuessStrategy strategy;
+        if (name.equals("random")) {
+            strategy = Strategies.randomCandidate();
+        } else if (name.equals("entropy")) {
+            PatternMatrix matrix = null;
+            try {
+                matrix = PatternMatrix.open(Paths.get(PatternMatrixBuilder.PATTERN_FILE));
+            } catch (IOException e) {
+                // no matrix yet, so the hint engine scores patterns itself
+            }
+            strategy = Strategies.entropy(bank, matrix, 1000);
+        } else {
+            strategy = Strategies.firstCandidate();
+        }
+
+        SimulationRunner runner = new SimulationRunner(bank, strategy);
+        SimulationReport report;
+        if (args.length > 1) {
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+            report = runner.runSample(Integer.parseInt(args[1]), seed);
+        } else {
+            report = runner.runAll();
+        }
+        System.out.println(report);
+    }
+}
@@ -0,0 +1,92 @@
+package wordle.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+import wordle.model.CandidateSet;
+import wordle.model.HintEngine;
+import wordle.model.PatternMatrix;
+import wordle.model.WordleWordBank;
+
+/**
+ * The guess strategies that come with the simulator.
+ */
+public final class Strategies {
+
+    /**
+     * Not meant to be instantiated
+     */
+    private Strategies() {
+    }
+
+    /**
+     * Always guesses the first candidate still possible, alphabetically
+     *
+     * @return the strategy
+     */
+    public static GuessStrategy firstCandidate() {
+        return new GuessStrategy() {
+            @Override
+            public int nextGuess(CandidateSet candidates, int guessesMade) {
+                return candidates.toArray()[0];
+            }
+
+            @Override
+            public String getName() {
+                return "first";
+            }
+        };
+    }
+
+    /**
+     * Guesses a random candidate that is still possible
+     *
+     * @return the strategy
+     */
+    public static GuessStrategy randomCandidate() {
+        return new GuessStrategy() {
+            @Override
+            public int nextGuess(CandidateSet candidates, int guessesMade) {
+                int[] remaining = candidates.toArray();
+                return remaining[ThreadLocalRandom.current().nextInt(remaining.length)];
+            }
+
+            @Override
+            public String getName() {
+                return "random";
+            }
+        };
+    }
+
+    /**
+     * Guesses whatever the HintEngine suggests. The opening guess is the same
+     * in every game, so it is worked out once and reused.
+     *
+     * @param bank          the word bank the games use
+     * @param matrix        a pattern matrix for the bank, or null
+     * @param timeoutMillis how long each search may take
+     * @return the strategy
+     */
+    public static GuessStrategy entropy(WordleWordBank bank, PatternMatrix matrix,
+            long timeoutMillis) {
+        HintEngine engine = new HintEngine(bank, matrix, ForkJoinPool.commonPool());
+        long timeoutNanos = timeoutMillis * 1_000_000;
+        int opener = engine.suggest(bank.getPackedCommonWords(),
+                System.nanoTime() + timeoutNanos).getPackedGuess();
+        return new GuessStrategy() {
+            @Override
+            public int nextGuess(CandidateSet candidates, int guessesMade) {
+                if (guessesMade == 0) {
+                    return opener;
+                }
+                return engine.suggest(candidates.toArray(),
+                        System.nanoTime() + timeoutNanos).getPackedGuess();
+            }
+
+            @Override
+            public String getName() {
+                return "entropy";
+            }
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package wordle.view;
+
+import java.awt.Rectangle;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+/**
+ * Collects the parts of a component that have changed and repaints only
+ * those, once per trip through the event queue. However many tiles or keys
+ * change while an event is handled, the component gets a single repaint of
+ * just the changed areas when the event is done.
+ *
+ * Areas can be marked from any thread; the repaint always happens on the
+ * event dispatch thread.
+ */
+public class DirtyRegionTracker {
+
+    /**
+     * the most separate areas kept before they are merged into one
+     */
+    private static final int MAX_REGIONS = 8;
+
+    /**
+     * the component to repaint
+     */
+    private final JComponent component;
+
+    /**
+     * the changed areas waiting to be repainted
+     */
+    private final Rectangle[] regions = new Rectangle[MAX_REGIONS];
+
+    /**
+     * how many of the regions are in use
+     */
+    private int regionCount = 0;
+
+    /**
+     * true while a flush is waiting in the event queue
+     */
+    private boolean scheduled = false;
+
+    /**
+     * how many areas have been marked
+     */
+    private long marked = 0;
+
+    /**
+     * how many repaints have been asked of the component
+     */
+    private long repainted = 0;
+
+    /**
+     * Creates a tracker for a component
+     *
+     * @param component the component to repaint
+     */
+    public DirtyRegionTracker(JComponent component) {
+        this.component = component;
+    }
+
+    /**
+     * Marks an area as changed. It is repainted once the current event is
+     * done, along with everything else marked before then.
+     *
+     * @param x      the left of the area
+     * @param y      the top of the area
+     * @param width  the width of the area
+     * @param height the height of the area
+     */
+    public synchronized void markDirty(int x, int y, int width, int height) {
+        marked++;
+        Rectangle area = new Rectangle(x, y, width, height);
+        // an area touching one already marked joins it
+        for (int i = 0; i < regionCount; i++) {
+            if (regions[i].intersects(area) || regions[i].contains(area)) {
+                regions[i].add(area);
+                schedule();
+                return;
+            }
+        }
+        if (regionCount == MAX_REGIONS) {
+            // too many separate areas; repaint everything they cover
+            for (int i = 1; i < regionCount; i++) {
+                regions[0].add(regions[i]);
+                regions[i] = null;
+            }
+            regions[0].add(area);
+            regionCount = 1;
+        } else {
+            regions[regionCount++] = area;
+        }
+        schedule();
+    }
+
+    /**
+     * Puts a flush in the event queue unless one is already waiting
+     */
+    private void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    /**
+     * Repaints everything marked since the last flush
+     */
+    private void flush() {
+        Rectangle[] dirty;
+        synchronized (this) {
+            scheduled = false;
+            dirty = new Rectangle[regionCount];
+            for (int i = 0; i < regionCount; i++) {
+                dirty[i] = regions[i];
+                regions[i] = null;
+            }
+            regionCount = 0;
+            repainted += dirty.length;
+        }
+        for (Rectangle area : dirty) {
+            component.repaint(area.x, area.y, area.width, area.height);
+        }
+    }
+
+    /**
+     * Gets how many areas have been marked as changed
+     *
+     * @return the number of calls to markDirty
+     */
+    public synchronized long getMarkedCount() {
+        return marked;
+    }
+
+    /**
+     * Gets how many repaints were actually asked of the component
+     *
+     * @return the number of repaint calls after merging
+     */
+    public synchronized long getRepaintCount() {
+        return repainted;
+    }
+}
@@ -3,6 +3,15 @@ package wordle.view;
 import java.awt.*;
 import javax.swing.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import animation.Animation;
+import animation.AnimationScheduler;
+import events.PaintEvent;
+import logging.Logger;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
 import wordle.model.*;
 import java.awt.event.KeyEvent;
 
@@ -16,6 +25,12 @@ import java.awt.event.KeyEvent;
 
 public class KeyboardDisplay extends JPanel implements KeyboardToGridListener {
 
+    // where key presses are logged
+    private static final Logger LOG = Logger.get(KeyboardDisplay.class);
+
+    // how long painting the keyboard takes
+    private static final Histogram PAINT_TIME = MetricsRegistry.timer("wordle.paint.keyboard");
+
     // the width of a key in the keyboard
     private static final int KEY_WIDTH = 40;
 
@@ -25,6 +40,20 @@ public class KeyboardDisplay extends JPanel implements KeyboardToGridListener {
     // the padding between keys in the keyboard
     private static final int PADDING = 10;
 
+    // the font on the keys, made once rather than on every paint
+    private static final Font KEY_FONT = new Font("Arial", Font.BOLD, 16);
+
+    // the backspace and enter keys
+    private static final char BACKSPACE = '\u2190';
+    private static final char ENTER = '\u21B5';
+
+    // the number of keys: A to Z, then backspace and enter
+    private static final int KEY_COUNT = 28;
+
+    // how long a key pulses for when it changes color, and how far it shrinks
+    private static final int PULSE_MILLIS = 250;
+    private static final double PULSE_DEPTH = 0.15;
+
     // this is the 2D array letters of the keyboard, each has a letterTile which
     // has properties of a color and a letter
     private LetterTile[][] LETTER_TILES;
@@ -32,6 +61,23 @@ public class KeyboardDisplay extends JPanel implements KeyboardToGridListener {
     // this is the listener for interaction between the keyboard and grid
     private KeyboardToGridListener listener;
 
+    // collects the keys that change color into one repaint per event
+    private DirtyRegionTracker dirtyRegions = new DirtyRegionTracker(this);
+
+    // the row and column of each key, looked up by keyIndex
+    private int[] keyRows = new int[KEY_COUNT];
+    private int[] keyCols = new int[KEY_COUNT];
+
+    // the pictures of the keys in every color they have been
+    private TileImageCache keyPictures = new TileImageCache(KEY_WIDTH,
+            KEY_HEIGHT, KEY_FONT, Color.LIGHT_GRAY);
+
+    // the picture each key shows right now, laid out like LETTER_TILES
+    private BufferedImage[][] keyImages;
+
+    // how big each key is drawn while it pulses, 1 when it isn't pulsing
+    private double[][] keyScale;
+
     /**
      * This is the constructor for the KeyboardDisplay class
      * 
@@ -70,6 +116,22 @@ public class KeyboardDisplay extends JPanel implements KeyboardToGridListener {
                         new LetterTile(Color.LIGHT_GRAY, 'M'),
                         new LetterTile(Color.LIGHT_GRAY, '\u21B5') } };
 
+        // finds each key once, so later lookups go straight to it
+        keyImages = new BufferedImage[LETTER_TILES.length][];
+        keyScale = new double[LETTER_TILES.length][];
+        for (int i = 0; i < LETTER_TILES.length; i++) {
+            keyImages[i] = new BufferedImage[LETTER_TILES[i].length];
+            keyScale[i] = new double[LETTER_TILES[i].length];
+            Arrays.fill(keyScale[i], 1.0);
+            for (int j = 0; j < LETTER_TILES[i].length; j++) {
+                LetterTile tile = LETTER_TILES[i][j];
+                int index = keyIndex(tile.getLetter());
+                keyRows[index] = i;
+                keyCols[index] = j;
+                keyImages[i][j] = keyPictures.get(tile.getLetter(), tile.getColor());
+            }
+        }
+
         // a listener for mouse clicks on the keyboard
         addMouseListener(new MouseAdapter() {
             @Override
@@ -89,15 +151,15 @@ public class KeyboardDisplay extends JPanel implements KeyboardToGridListener {
                 int colClicked = horizontalDirectionKeyboard
                         / (KEY_WIDTH + PADDING);
 
-                // If the click is within valid bounds, notify the listener by
-                // printing to console what was clicked
+                // If the click is within valid bounds, notify the listener and
+                // log what was clicked
                 if (rowClicked >= 0 && rowClicked < LETTER_TILES.length
                         && colClicked >= 0
                         && colClicked < LETTER_TILES[rowClicked].length) {
                     LetterTile tile = LETTER_TILES[rowClicked][colClicked];
                     if (listener != null) {
                         listener.keyPressed(tile);
-                        System.out.println("Key pressed: " + tile.getLetter());
+                        LOG.debug("Key pressed: {}", tile.getLetter());
                     }
                 }
             }
@@ -134,19 +196,78 @@ public class KeyboardDisplay extends JPanel implements KeyboardToGridListener {
 
     @Override
     protected void paintComponent(Graphics g) {
+        PaintEvent event = new PaintEvent();
+        event.begin();
+        long start = System.nanoTime();
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
 
-        // Total width and height of the keyboard
+        // draw it, centered
+        drawKeysForKeyboard(g2d, getKeyboardLeft(), getKeyboardTop());
+        PAINT_TIME.recordSince(start);
+        event.finish("KeyboardDisplay", g);
+    }
+
+    /**
+     * Works out where the keyboard starts so that it is centered
+     * 
+     * @return the x coordinate of the left edge of the first key
+     */
+    private int getKeyboardLeft() {
         int totalWidth = 10 * KEY_WIDTH + 11 * PADDING;
+        return (getWidth() - totalWidth) / 2;
+    }
+
+    /**
+     * Works out where the keyboard starts so that it is centered
+     * 
+     * @return the y coordinate of the top edge of the first row
+     */
+    private int getKeyboardTop() {
         int totalHeight = 3 * KEY_HEIGHT + 4 * PADDING;
+        return (getHeight() - totalHeight) / 2;
+    }
 
-        // Calculate the x and y coordinates to center the keyboard
-        int xCoordinate = (getWidth() - totalWidth) / 2;
-        int yCoordinate = (getHeight() - totalHeight) / 2;
+    /**
+     * Marks one key to be repainted once the current event is done
+     * 
+     * @param row the row of the key
+     * @param col the column of the key
+     */
+    private void markKeyDirty(int row, int col) {
+        // one pixel more for the key's outline
+        dirtyRegions.markDirty(getKeyboardLeft() + col * (KEY_WIDTH + PADDING),
+                getKeyboardTop() + row * (KEY_HEIGHT + PADDING), KEY_WIDTH + 1,
+                KEY_HEIGHT + 1);
+    }
 
-        // draw it
-        drawKeysForKeyboard(g2d, xCoordinate, yCoordinate);
+    /**
+     * Shrinks a key a little and lets it spring back, to draw the eye to a
+     * key that has just changed color
+     * 
+     * @param row the row of the key
+     * @param col the column of the key
+     */
+    private void pulseKey(int row, int col) {
+        AnimationScheduler.getShared().start(new Animation(this,
+                new Rectangle(getKeyboardLeft() + col * (KEY_WIDTH + PADDING),
+                        getKeyboardTop() + row * (KEY_HEIGHT + PADDING),
+                        KEY_WIDTH + 1, KEY_HEIGHT + 1),
+                0, PULSE_MILLIS) {
+            @Override
+            protected void update(double progress) {
+                keyScale[row][col] = 1.0 - PULSE_DEPTH * Math.sin(Math.PI * progress);
+            }
+        });
+    }
+
+    /**
+     * Getter for the tracker that merges this keyboard's repaints
+     * 
+     * @return the tracker
+     */
+    public DirtyRegionTracker getDirtyRegions() {
+        return dirtyRegions;
     }
 
     /**
@@ -162,37 +283,21 @@ public class KeyboardDisplay extends JPanel implements KeyboardToGridListener {
             int yCoordinate) {
         int y = yCoordinate;
 
-        // Iterate over each row of keys in LETTER_TILES array
-        for (LetterTile[] row : LETTER_TILES) {
+        // Iterate over each row of keys; every key is already drawn in its
+        // current color, so this only copies pictures
+        for (int i = 0; i < keyImages.length; i++) {
             int x = xCoordinate;
-
-            // iterate over each key tile in the row
-            for (LetterTile tile : row) {
-
-                g2d.setColor(tile.getColor());
-
-                // Fill a rectangle representing the key at the current position
-                g2d.fillRect(x, y, KEY_WIDTH, KEY_HEIGHT);
-                g2d.setColor(Color.LIGHT_GRAY);
-
-                // draw the border for each rectangle
-                g2d.drawRect(x, y, KEY_WIDTH, KEY_HEIGHT);
-                g2d.setColor(Color.BLACK);
-
-                // set font and size
-                g2d.setFont(new Font("Arial", Font.BOLD, 16));
-
-                // Calculate the position to draw the letter while centering
-                FontMetrics fm = g2d.getFontMetrics();
-                int x_text = x + (KEY_WIDTH
-                        - fm.stringWidth(Character.toString(tile.getLetter())))
-                        / 2;
-                int y_text = y + ((KEY_HEIGHT - fm.getHeight()) / 2)
-                        + fm.getAscent();
-
-                // draw the letter
-                g2d.drawString(Character.toString(tile.getLetter()), x_text,
-                        y_text);
+            for (int j = 0; j < keyImages[i].length; j++) {
+                double scale = keyScale[i][j];
+                if (scale < 1.0) {
+                    // shrunk toward the middle of the key while it pulses
+                    int width = (int) ((KEY_WIDTH + 1) * scale);
+                    int height = (int) ((KEY_HEIGHT + 1) * scale);
+                    g2d.drawImage(keyImages[i][j], x + (KEY_WIDTH + 1 - width) / 2,
+                            y + (KEY_HEIGHT + 1 - height) / 2, width, height, null);
+                } else {
+                    g2d.drawImage(keyImages[i][j], x, y, null);
+                }
                 x += KEY_WIDTH + PADDING;
             }
 
@@ -212,6 +317,25 @@ public class KeyboardDisplay extends JPanel implements KeyboardToGridListener {
                 3 * PADDING + 3 * KEY_HEIGHT);
     }
 
+    /**
+     * Helper method that turns a key's letter into its place in the lookup
+     * tables
+     * 
+     * @param c the letter on the key
+     * @return 0 to 25 for A to Z, 26 for backspace, 27 for enter, or -1 if
+     *         there is no such key
+     */
+    private static int keyIndex(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        } else if (c == BACKSPACE) {
+            return 26;
+        } else if (c == ENTER) {
+            return 27;
+        }
+        return -1;
+    }
+
     /**
      * Helper method that finds the coordinates of a letter in the keyboard
      * 
@@ -220,16 +344,11 @@ public class KeyboardDisplay extends JPanel implements KeyboardToGridListener {
      *         the keyboard
      */
     public int[] findLetter(char c) {
-        int[] coordinates = { -1, -1 };
-        for (int i = 0; i < LETTER_TILES.length; i++) {
-            for (int j = 0; j < LETTER_TILES[i].length; j++) {
-                if (LETTER_TILES[i][j].getLetter() == c) {
-                    coordinates[0] = i;
-                    coordinates[1] = j;
-                }
-            }
+        int index = keyIndex(c);
+        if (index < 0) {
+            return new int[] { -1, -1 };
         }
-        return coordinates;
+        return new int[] { keyRows[index], keyCols[index] };
     }
 
     /**
@@ -239,30 +358,32 @@ public class KeyboardDisplay extends JPanel implements KeyboardToGridListener {
      * @return the current color of that letter's tile
      */
     public Color findColorOfLetter(char c) {
-        for (int i = 0; i < LETTER_TILES.length; i++) {
-            for (int j = 0; j < LETTER_TILES[i].length; j++) {
-                if (LETTER_TILES[i][j].getLetter() == c) {
-                    return LETTER_TILES[i][j].getColor();
-                }
-            }
+        int index = keyIndex(c);
+        if (index < 0) {
+            return Color.lightGray;
         }
-        return Color.lightGray;
+        return LETTER_TILES[keyRows[index]][keyCols[index]].getColor();
     }
 
     /**
-     * Sets the color of a tile
+     * Sets the color of a tile, and repaints it if the color changed
      * 
      * @param c     the character on the tile to be altered
      * @param color the color to set the tile to
      */
     public void setKeyColor(char c, Color color) {
-        for (int i = 0; i < LETTER_TILES.length; i++) {
-            for (int j = 0; j < LETTER_TILES[i].length; j++) {
-                if (LETTER_TILES[i][j].getLetter() == c) {
-                    LETTER_TILES[i][j].setColor(color);
-                }
-            }
-
+        int index = keyIndex(c);
+        if (index < 0) {
+            return;
+        }
+        int row = keyRows[index];
+        int col = keyCols[index];
+        LetterTile tile = LETTER_TILES[row][col];
+        if (!color.equals(tile.getColor())) {
+            tile.setColor(color);
+            keyImages[row][col] = keyPictures.get(c, color);
+            markKeyDirty(row, col);
+            pulseKey(row, col);
         }
     }
 }
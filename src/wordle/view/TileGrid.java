@@ -1,10 +1,17 @@
 package wordle.view;
 
 import javax.swing.*;
+
+import animation.Animation;
+import animation.AnimationScheduler;
+import events.PaintEvent;
+import logging.Logger;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
 import wordle.model.*;
 import java.awt.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 
 /**
@@ -15,6 +22,12 @@ import java.util.Map;
 
 public class TileGrid extends JPanel implements KeyboardToGridListener {
     
+  //where debugging output goes
+    private static final Logger LOG = Logger.get(TileGrid.class);
+    
+  //how long painting the grid takes
+    private static final Histogram PAINT_TIME = MetricsRegistry.timer("wordle.paint.tileGrid");
+    
   //the size of each cell in the grid
     private static final int CELL_SIZE = 60;
     
@@ -24,14 +37,50 @@ public class TileGrid extends JPanel implements KeyboardToGridListener {
   //the grid height
     private static final int GRID_ROW = 6; 
     
+  //how long one tile takes to flip over, and the gap before the next one starts
+    private static final int FLIP_MILLIS = 300;
+    private static final int FLIP_STAGGER_MILLIS = 120;
+    
+  //how long a row shakes for, and how far it moves
+    private static final int SHAKE_MILLIS = 400;
+    private static final int SHAKE_PIXELS = 8;
+    
+  //the color of a tile whose guess hasn't been scored, shown on the front of a flip
+    private static final Color UNREVEALED = new Color(255, 255, 255, 0);
+    
     //our 2D grid
     private LetterTile[][] grid;
 
     //instance of our wordleGame
     private WordleGame game;
 
-    //this is the what will map the color to the letter in the grid
-    private Map<Character, Color> gridLetterColor;
+    //the color of each letter in the grid, indexed from 'A'
+    private Color[] gridLetterColor;
+    
+    //the pictures of the tiles in every letter and color they have shown
+    private TileImageCache tilePictures;
+    
+    //the picture each cell shows, and the letter and color it was drawn for
+    private BufferedImage[][] cellImages;
+    private char[][] imageLetters;
+    private Color[][] imageColors;
+    
+    //the letter and color each cell had when it was last marked for painting
+    private char[][] shownLetters;
+    private Color[][] shownColors;
+    
+    //collects the changed cells into one repaint per event
+    private DirtyRegionTracker dirtyRegions;
+    
+    //how tall each cell is drawn while it flips, 1 when it isn't flipping
+    private double[][] flipScale;
+    
+    //the unscored picture each cell shows during the first half of its flip,
+    //null once the cell has turned over
+    private BufferedImage[][] flipFronts;
+    
+    //how far each row is pushed sideways while it shakes
+    private int[] rowShift;
     
     
     /**
@@ -50,12 +99,33 @@ public class TileGrid extends JPanel implements KeyboardToGridListener {
         setFocusable(true);
 
         // debugging
-        System.out.println("Provided Grid Dimensions: " + theGrid.length + "x" + theGrid[0].length);
+        LOG.debug("Provided Grid Dimensions: {}x{}", theGrid.length, theGrid[0].length);
+        
+        gridLetterColor = new Color[26];
         
-        gridLetterColor = new HashMap<>();
+        tilePictures = new TileImageCache(CELL_SIZE, CELL_SIZE, getFont(), null);
+        cellImages = new BufferedImage[GRID_ROW][GRID_COL];
+        imageLetters = new char[GRID_ROW][GRID_COL];
+        imageColors = new Color[GRID_ROW][GRID_COL];
         
         this.game = wordleGame;
 
+        shownLetters = new char[GRID_ROW][GRID_COL];
+        shownColors = new Color[GRID_ROW][GRID_COL];
+        for (int row = 0; row < GRID_ROW; row++) {
+            for (int col = 0; col < GRID_COL; col++) {
+                shownLetters[row][col] = grid[row][col].getLetter();
+                shownColors[row][col] = grid[row][col].getColor();
+            }
+        }
+        dirtyRegions = new DirtyRegionTracker(this);
+
+        flipScale = new double[GRID_ROW][GRID_COL];
+        for (double[] row : flipScale) {
+            Arrays.fill(row, 1.0);
+        }
+        flipFronts = new BufferedImage[GRID_ROW][GRID_COL];
+        rowShift = new int[GRID_ROW];
     }
     
     /**
@@ -67,13 +137,9 @@ public class TileGrid extends JPanel implements KeyboardToGridListener {
     private void drawGrid(Graphics g) {
 
 
-      //total height and width of the 2D grid
-      int totalWidth = GRID_COL * CELL_SIZE;
-      int totalHeight = getGridRow() * CELL_SIZE;
-
       //get the grid to be centered
-      int centerHorizontally = (getWidth() - totalWidth) / 2;
-      int centerVertically = (getHeight() - totalHeight) / 2;
+      int centerHorizontally = getGridLeft();
+      int centerVertically = getGridTop();
 
       
         
@@ -82,7 +148,7 @@ public class TileGrid extends JPanel implements KeyboardToGridListener {
             for (int col = 0; col < GRID_COL; col++) {
                 
               //calculate the x and y coordinates of the cell
-                int x = centerHorizontally + col * CELL_SIZE;
+                int x = centerHorizontally + col * CELL_SIZE + rowShift[row];
                 int y = centerVertically + row * CELL_SIZE;
                 g.setColor(Color.WHITE);
                 g.drawRect(x, y, CELL_SIZE, CELL_SIZE);
@@ -90,65 +156,147 @@ public class TileGrid extends JPanel implements KeyboardToGridListener {
                 
              // Draw if the col and row at that index is not ' '
                 if (grid[row][col] != null && grid[row][col].getLetter() != ' ') {
-                    
-                    // Get the color for this letter from the map
-                    grid = game.getAnswerGrid();
-                    Color letterColor = game.getTile(row, col).getColor();
-                    if (letterColor != null) {
-                        // Set the color
-                        g.setColor(letterColor);
+                    BufferedImage image = flipFronts[row][col] != null
+                            ? flipFronts[row][col] : getCellImage(row, col);
+                    if (flipScale[row][col] < 1.0) {
+                        // squashed toward the middle while it flips
+                        int height = Math.max(1, (int) (CELL_SIZE * flipScale[row][col]));
+                        g.drawImage(image, x, y + (CELL_SIZE - height) / 2,
+                                CELL_SIZE + 1, height, null);
                     } else {
-                        // If no color is mapped, don't set any color (leave it as it is)
-  
+                        g.drawImage(image, x, y, null);
                     }
-                    g.fillRect(x, y, CELL_SIZE, CELL_SIZE);
-                    g.setColor(Color.BLACK);
-                    g.drawString(String.valueOf(grid[row][col].getLetter()), x + CELL_SIZE / 2 - 5, y + CELL_SIZE / 2 + 5);
                 }
 
             }
         }
       }
+    
+    /**
+     * Gets the picture of a cell, looking up a new one only when the cell's
+     * letter or color has changed since it was last drawn
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return the picture of the tile
+     */
+    private BufferedImage getCellImage(int row, int col) {
+        LetterTile tile = grid[row][col];
+        if (cellImages[row][col] == null || tile.getLetter() != imageLetters[row][col]
+                || tile.getColor() != imageColors[row][col]) {
+            // If no color is set, the tile is white
+            Color color = tile.getColor() != null ? tile.getColor() : Color.WHITE;
+            cellImages[row][col] = tilePictures.get(tile.getLetter(), color);
+            imageLetters[row][col] = tile.getLetter();
+            imageColors[row][col] = tile.getColor();
+        }
+        return cellImages[row][col];
+    }
       
     
     /**
-     * Override the paintComponent 
-     * @param g is the graphics used to draw
+     * Works out where the grid starts so that it is centered
+     * @return the x coordinate of the left edge of the grid
      */
-
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        drawGrid(g);
+    private int getGridLeft() {
+        return (getWidth() - GRID_COL * CELL_SIZE) / 2;
     }
     
+    /**
+     * Works out where the grid starts so that it is centered
+     * @return the y coordinate of the top edge of the grid
+     */
+    private int getGridTop() {
+        return (getHeight() - getGridRow() * CELL_SIZE) / 2;
+    }
     
     /**
-     * This is the method to update the grid once a letter has been 
-     * clicked from the keyboard
-     * @param letterTile is the tile to be updated with a letter and a color
-     * 
+     * Looks for cells whose letter or color has changed since they were
+     * last painted and repaints only those, once the current event is done
      */
-
-    public void updateGridWithLetter(LetterTile letterTile) {
-        char letter = letterTile.getLetter();
-
+    public void refresh() {
         for (int row = 0; row < GRID_ROW; row++) {
             for (int col = 0; col < GRID_COL; col++) {
-
-                //if the position in the grid is null, put the letter there and display it
-                if (grid[row][col] == null) {
-                    grid[row][col].setLetter(letter);
-                    repaint();
-                    return;
-
+                LetterTile tile = grid[row][col];
+                if (tile.getLetter() != shownLetters[row][col]
+                        || tile.getColor() != shownColors[row][col]) {
+                    shownLetters[row][col] = tile.getLetter();
+                    shownColors[row][col] = tile.getColor();
+                    // one pixel more for the cell's outline
+                    dirtyRegions.markDirty(getGridLeft() + col * CELL_SIZE,
+                            getGridTop() + row * CELL_SIZE, CELL_SIZE + 1, CELL_SIZE + 1);
                 }
             }
         }
+    }
+    
+    /**
+     * Flips the tiles of a row over one after another, showing their colors
+     * as they turn
+     * @param row the row that was just scored
+     */
+    public void revealRow(int row) {
+        for (int col = 0; col < GRID_COL; col++) {
+            final int c = col;
+            flipFronts[row][col] = tilePictures.get(grid[row][col].getLetter(), UNREVEALED);
+            AnimationScheduler.getShared().start(new Animation(this,
+                    new Rectangle(getGridLeft() + col * CELL_SIZE, getGridTop() + row * CELL_SIZE,
+                            CELL_SIZE + 1, CELL_SIZE + 1),
+                    col * FLIP_STAGGER_MILLIS, FLIP_MILLIS) {
+                @Override
+                protected void update(double progress) {
+                    // shrinks to nothing halfway, then opens up showing the color
+                    flipScale[row][c] = Math.abs(Math.cos(Math.PI * progress));
+                    if (progress >= 0.5) {
+                        flipFronts[row][c] = null;
+                    }
+                }
+            });
+        }
+    }
+    
+    /**
+     * Shakes a row from side to side, for a guess that was turned down
+     * @param row the row to shake
+     */
+    public void shakeRow(int row) {
+        AnimationScheduler.getShared().start(new Animation(this,
+                new Rectangle(getGridLeft() - SHAKE_PIXELS, getGridTop() + row * CELL_SIZE,
+                        GRID_COL * CELL_SIZE + 2 * SHAKE_PIXELS + 1, CELL_SIZE + 1),
+                0, SHAKE_MILLIS) {
+            @Override
+            protected void update(double progress) {
+                // three swings that die away
+                rowShift[row] = (int) Math.round(SHAKE_PIXELS
+                        * Math.sin(progress * Math.PI * 6) * (1 - progress));
+            }
+        });
+    }
+    
+    /**
+     * Getter for the tracker that merges this grid's repaints
+     * @return the tracker
+     */
+    public DirtyRegionTracker getDirtyRegions() {
+        return dirtyRegions;
+    }
+    
+    /**
+     * Override the paintComponent 
+     * @param g is the graphics used to draw
+     */
 
-        repaint();
+    @Override
+    protected void paintComponent(Graphics g) {
+        PaintEvent event = new PaintEvent();
+        event.begin();
+        long start = System.nanoTime();
+        super.paintComponent(g);
+        drawGrid(g);
+        PAINT_TIME.recordSince(start);
+        event.finish("TileGrid", g);
     }
     
+    
     /**
      * This methods sets the color of the key in the grid
      * @param color is the color to be set
@@ -156,8 +304,9 @@ public class TileGrid extends JPanel implements KeyboardToGridListener {
      */
  
     public void setKeyColor(char c, Color color) {
-        gridLetterColor.put(c, color);
-        
+        if (c >= 'A' && c <= 'Z') {
+            gridLetterColor[c - 'A'] = color;
+        }
     }
     
     /**
@@ -167,7 +316,7 @@ public class TileGrid extends JPanel implements KeyboardToGridListener {
      */
     @Override
     public void keyPressed(LetterTile letterTile) {
-        updateGridWithLetter(letterTile);
+        refresh();
     }
 
     /**
@@ -0,0 +1,114 @@
+package wordle.view;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pictures of tiles, drawn once for each letter and color and then reused.
+ * A tile or key only looks up its picture when its letter or color changes,
+ * so painting is just copying images and allocates nothing.
+ */
+public class TileImageCache {
+
+    /**
+     * the width of a tile
+     */
+    private final int width;
+
+    /**
+     * the height of a tile
+     */
+    private final int height;
+
+    /**
+     * the font letters are drawn in
+     */
+    private final Font font;
+
+    /**
+     * the color of the outline, or null for no outline
+     */
+    private final Color outline;
+
+    /**
+     * the pictures drawn so far, by color and letter
+     */
+    private final Map<Long, BufferedImage> images = new HashMap<Long, BufferedImage>();
+
+    /**
+     * Creates an empty cache for tiles of one size
+     *
+     * @param width   the width of a tile
+     * @param height  the height of a tile
+     * @param font    the font letters are drawn in
+     * @param outline the color of the outline, or null for no outline
+     */
+    public TileImageCache(int width, int height, Font font, Color outline) {
+        this.width = width;
+        this.height = height;
+        this.font = font;
+        this.outline = outline;
+    }
+
+    /**
+     * Gets the picture of a tile, drawing it the first time it is asked for
+     *
+     * @param letter the letter on the tile
+     * @param color  the color of the tile
+     * @return the picture; one pixel bigger than the tile when there is an
+     *         outline
+     */
+    public synchronized BufferedImage get(char letter, Color color) {
+        Long key = (long) color.getRGB() << 16 | letter;
+        BufferedImage image = images.get(key);
+        if (image == null) {
+            image = draw(letter, color);
+            images.put(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Draws a tile with its letter in the middle
+     *
+     * @param letter the letter on the tile
+     * @param color  the color of the tile
+     * @return the picture
+     */
+    private BufferedImage draw(char letter, Color color) {
+        BufferedImage image = new BufferedImage(width + 1, height + 1,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(color);
+        g.fillRect(0, 0, width, height);
+        if (outline != null) {
+            g.setColor(outline);
+            g.drawRect(0, 0, width, height);
+        }
+        g.setColor(Color.BLACK);
+        g.setFont(font);
+        FontMetrics metrics = g.getFontMetrics();
+        String text = String.valueOf(letter);
+        g.drawString(text, (width - metrics.stringWidth(text)) / 2,
+                (height - metrics.getHeight()) / 2 + metrics.getAscent());
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Gets how many pictures have been drawn
+     *
+     * @return the number of cached pictures
+     */
+    public synchronized int size() {
+        return images.size();
+    }
+}
@@ -0,0 +1,161 @@
+package spellingBee;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import lexicon.DictionaryFile;
+import spellingBee.model.BeeDictionary;
+import spellingBee.model.SpellingBeeGame;
+import spellingBee.model.Word;
+import spellingBee.view.WordListDisplay;
+
+/**
+ * Checks that the letter-mask lookups in BeeDictionary give the same answers
+ * as the old way of building a puzzle, which ran every word in the word
+ * lists through SpellingBeeGame.checkAddWordForDictionary. Run main from the
+ * project folder (with -Djava.awt.headless=true if there is no display); it
+ * exits with status 1 if anything fails.
+ */
+public class BeeDictionaryTest {
+
+    /**
+     * the puzzles to check, middle letter first
+     */
+    private static final String[] PUZZLES = {
+        "aelpstr", "ohmnpty", "ebcdilr", "xaeimst", "qaeiuns", "gdinoru"
+    };
+
+    /**
+     * the number of checks that have failed so far
+     */
+    private static int failures = 0;
+
+    /**
+     * Runs every check
+     *
+     * @param args not used
+     * @throws IOException if the word lists can't be read
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> words = readWords(DictionaryFile.COMMON_WORDS);
+        words.addAll(readWords(DictionaryFile.ENGLISH_WORDS));
+        BeeDictionary dictionary = BeeDictionary.get();
+
+        for (String letters : PUZZLES) {
+            testAnswers(dictionary, letters, words);
+        }
+        testContains(dictionary, words);
+        if (failures > 0) {
+            System.out.println(failures + " check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("BeeDictionaryTest passed");
+    }
+
+    /**
+     * Compares answersFor with the words checkAddWordForDictionary accepts
+     *
+     * @param dictionary the shared dictionary
+     * @param letters    the puzzle, middle letter first
+     * @param words      every word in the word lists
+     */
+    private static void testAnswers(BeeDictionary dictionary, String letters,
+            List<String> words) {
+        SpellingBeeGame game = new SpellingBeeGame(new WordListDisplay(), letters);
+        Set<String> expected = new TreeSet<String>();
+        for (String word : words) {
+            if (game.checkAddWordForDictionary(word)) {
+                expected.add(word);
+            }
+        }
+
+        int allLetters = BeeDictionary.maskOf(letters);
+        int middle = BeeDictionary.maskOf(letters.substring(0, 1));
+        List<Word> answers = dictionary.answersFor(allLetters, middle);
+        Set<String> actual = new TreeSet<String>();
+        for (Word answer : answers) {
+            String text = answer.toString();
+            if (!actual.add(text)) {
+                fail(letters + ": " + text + " is listed twice");
+            }
+            if (answer.isPangram() != BeeDictionary.isPangram(BeeDictionary.maskOf(text))) {
+                fail(letters + ": " + text + " has the wrong pangram flag");
+            }
+            if (!dictionary.contains(text)) {
+                fail(letters + ": " + text + " is an answer but contains says no");
+            }
+        }
+        if (expected.isEmpty()) {
+            fail(letters + ": the puzzle has no answers, so it checks nothing");
+        }
+        if (!actual.equals(expected)) {
+            Set<String> missing = new TreeSet<String>(expected);
+            missing.removeAll(actual);
+            Set<String> extra = new TreeSet<String>(actual);
+            extra.removeAll(expected);
+            fail(letters + ": missing " + missing + ", extra " + extra);
+        }
+    }
+
+    /**
+     * Checks that contains accepts exactly the words that could be an answer
+     * to some puzzle
+     *
+     * @param dictionary the shared dictionary
+     * @param words      every word in the word lists
+     */
+    private static void testContains(BeeDictionary dictionary, List<String> words) {
+        for (String word : words) {
+            int mask = BeeDictionary.maskOf(word);
+            boolean expected = word.length() >= BeeDictionary.MIN_LENGTH
+                    && Integer.bitCount(mask) <= BeeDictionary.PUZZLE_LETTERS;
+            if (dictionary.contains(word) != expected) {
+                fail("contains(" + word + ") should be " + expected);
+            }
+        }
+        if (dictionary.contains("zzzzqqq")) {
+            fail("contains accepted a word that isn't in the lists");
+        }
+    }
+
+    /**
+     * Reads a word list the way the dictionary compiler does: trimmed, in
+     * lower case, and only words made of the letters a-z
+     *
+     * @param fileName the word list
+     * @return the words, in file order
+     * @throws IOException if the file can't be read
+     */
+    private static List<String> readWords(String fileName) throws IOException {
+        List<String> words = new ArrayList<String>();
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(fileName),
+                StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String word = line.trim().toLowerCase(Locale.ROOT);
+                if (!word.isEmpty() && word.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Reports a failed check
+     *
+     * @param message what went wrong
+     */
+    private static void fail(String message) {
+        failures++;
+        System.out.println("FAIL: " + message);
+    }
+}
@@ -0,0 +1,160 @@
+package spellingBee;
+
+import java.util.Iterator;
+import java.util.List;
+
+import spellingBee.model.Word;
+import spellingBee.model.WordList;
+
+/**
+ * Checks that WordList rejects duplicates, keeps the order words were added
+ * in, and keeps its alphabetical copy sorted. Run main; it exits with status
+ * 1 if anything fails.
+ */
+public class WordListTest {
+
+    /**
+     * words added out of alphabetical order
+     */
+    private static final String[] WORDS = {
+        "pelt", "apple", "zeal", "leap", "plate", "ale", "petal", "alp", "tape"
+    };
+
+    /**
+     * the number of checks that have failed so far
+     */
+    private static int failures = 0;
+
+    /**
+     * Runs every check
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        testDuplicates();
+        testInsertionOrder();
+        testSorted();
+        if (failures > 0) {
+            System.out.println(failures + " check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("WordListTest passed");
+    }
+
+    /**
+     * Adding a word that is already there returns false and changes nothing
+     */
+    private static void testDuplicates() {
+        WordList list = new WordList(0);
+        if (!list.add(new Word("pelt"))) {
+            fail("the first add of a word should return true");
+        }
+        if (list.add(new Word("pelt"))) {
+            fail("adding the same word again should return false");
+        }
+        if (list.add(new Word("pelt", true))) {
+            fail("a duplicate should be rejected whatever its pangram flag");
+        }
+        if (list.directlyAdd(new Word("pelt"))) {
+            fail("directlyAdd should reject duplicates too");
+        }
+        if (list.getSize() != 1 || list.getSorted().size() != 1) {
+            fail("duplicates should not change the size, got " + list.getSize());
+        }
+        if (!list.contains("pelt") || !list.contains(new Word("pelt"))) {
+            fail("contains should find a word that was added");
+        }
+        if (list.contains("pel") || list.contains("pelts")) {
+            fail("contains should only find whole words that were added");
+        }
+        WordList single = new WordList(new Word("leap"));
+        if (single.add(new Word("leap")) || single.getSize() != 1) {
+            fail("a list made from one word should reject that word");
+        }
+    }
+
+    /**
+     * get(i) and the iterator give the words in the order they were added
+     */
+    private static void testInsertionOrder() {
+        WordList list = fill();
+        if (list.getSize() != WORDS.length) {
+            fail("expected " + WORDS.length + " words but got " + list.getSize());
+            return;
+        }
+        for (int i = 0; i < WORDS.length; i++) {
+            if (!list.get(i).toString().equals(WORDS[i])) {
+                fail("get(" + i + ") should be " + WORDS[i] + " but was " + list.get(i));
+            }
+        }
+        int i = 0;
+        for (Iterator<Word> it = list.iterator(); it.hasNext(); i++) {
+            String word = it.next().toString();
+            if (!word.equals(WORDS[i])) {
+                fail("the iterator gave " + word + " at " + i + ", expected " + WORDS[i]);
+            }
+        }
+    }
+
+    /**
+     * getSorted stays in alphabetical order as words are added out of order,
+     * and the view it returns sees later adds
+     */
+    private static void testSorted() {
+        WordList list = new WordList(0);
+        List<Word> sorted = list.getSorted();
+        for (String word : WORDS) {
+            list.add(new Word(word));
+            list.add(new Word(word));
+            checkSorted(list.getSorted(), list.getSize());
+        }
+        checkSorted(sorted, WORDS.length);
+        try {
+            sorted.add(new Word("zzzz"));
+            fail("the sorted view should be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // read-only, as it should be
+        }
+    }
+
+    /**
+     * Checks that a list is in strictly increasing order and the right size
+     *
+     * @param sorted the list to check
+     * @param size   the size it should be
+     */
+    private static void checkSorted(List<Word> sorted, int size) {
+        if (sorted.size() != size) {
+            fail("the sorted list has " + sorted.size() + " words, expected " + size);
+        }
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i - 1).toString().compareTo(sorted.get(i).toString()) >= 0) {
+                fail("the sorted list is out of order at " + i + ": " + sorted);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Makes a list of every word in WORDS, in order
+     *
+     * @return the new list
+     */
+    private static WordList fill() {
+        WordList list = new WordList(0);
+        for (String word : WORDS) {
+            list.add(new Word(word));
+        }
+        return list;
+    }
+
+    /**
+     * Reports a failed check
+     *
+     * @param message what went wrong
+     */
+    private static void fail(String message) {
+        failures++;
+        System.out.println("FAIL: " + message);
+    }
+}
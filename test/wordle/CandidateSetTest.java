@@ -0,0 +1,219 @@
+package wordle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import wordle.model.FeedbackPattern;
+import wordle.model.GuessResult;
+import wordle.model.PackedWords;
+import wordle.model.WordleEngine;
+import wordle.model.WordleWordBank;
+
+/**
+ * Plays games through WordleEngine and checks that the candidates left after
+ * each guess, and the remaining count shown to the player, match a brute-force
+ * filter of the common words. Run main; it exits with status 1 if anything
+ * fails.
+ */
+public class CandidateSetTest {
+
+    /**
+     * the number of random games to play
+     */
+    private static final int GAMES = 300;
+
+    /**
+     * guesses with repeated letters, which exercise the letter-count bitsets
+     */
+    private static final String[] REPEATED_LETTER_GUESSES = {
+        "EERIE", "SPEED", "LLAMA", "ALLEY", "ABBEY", "GEESE", "MAMMA", "SASSY"
+    };
+
+    /**
+     * the number of checks that have failed so far
+     */
+    private static int failures = 0;
+
+    /**
+     * Runs every check
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        WordleWordBank bank = new WordleWordBank();
+        String[] answers = upperCase(bank.getCommonWords());
+        int[] guesses = bank.getPackedAllowedGuesses();
+
+        testRepeatedLetterGames(bank, answers);
+        testRandomGames(bank, answers, guesses);
+        if (failures > 0) {
+            System.out.println(failures + " check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("CandidateSetTest passed");
+    }
+
+    /**
+     * Plays every repeated-letter guess against answers that share letters
+     * with it, including answers with the same repeated letter
+     *
+     * @param bank    the word bank
+     * @param answers the common words in upper case
+     */
+    private static void testRepeatedLetterGames(WordleWordBank bank, String[] answers) {
+        String[] chosenAnswers = { "THREE", "SPEED", "ABBEY", "ASSAY", "ADDED",
+            "ERROR", "SWISS", "DADDY", "SMALL", "AGREE", "TEETH", "CRANE" };
+        if (engineFor(bank, "CRANE").getCandidates().size() != answers.length) {
+            fail("a new game should start with every common word");
+        }
+        for (String answer : chosenAnswers) {
+            if (!bank.packedCommonWordExists(PackedWords.encode(answer))) {
+                fail(answer + " is not a common word");
+                continue;
+            }
+            List<String> played = new ArrayList<String>();
+            WordleEngine engine = engineFor(bank, answer);
+            for (String guess : REPEATED_LETTER_GUESSES) {
+                if (engine.isGameOver()) {
+                    break;
+                }
+                GuessResult result = engine.submitGuess(PackedWords.encode(guess));
+                if (!result.isScored()) {
+                    fail("an allowed guess was rejected: " + guess);
+                    break;
+                }
+                played.add(guess);
+                check(engine, result, answer, played, answers);
+            }
+        }
+    }
+
+    /**
+     * Plays seeded games with random guesses, starting each one with a
+     * repeated-letter guess
+     *
+     * @param bank    the word bank
+     * @param answers the common words in upper case
+     * @param guesses every packed word that may be guessed
+     */
+    private static void testRandomGames(WordleWordBank bank, String[] answers,
+            int[] guesses) {
+        Random random = new Random(8675309L);
+        for (int game = 0; game < GAMES; game++) {
+            String answer = answers[random.nextInt(answers.length)];
+            WordleEngine engine = engineFor(bank, answer);
+            List<String> played = new ArrayList<String>();
+            String first = REPEATED_LETTER_GUESSES[game % REPEATED_LETTER_GUESSES.length];
+            GuessResult result = engine.submitGuess(PackedWords.encode(first));
+            if (!result.isScored()) {
+                fail("an allowed guess was rejected: " + first);
+                continue;
+            }
+            played.add(first);
+            check(engine, result, answer, played, answers);
+            while (!engine.isGameOver()) {
+                int packedGuess = guesses[random.nextInt(guesses.length)];
+                String guess = PackedWords.decode(packedGuess);
+                result = engine.submitGuess(packedGuess);
+                if (!result.isScored()) {
+                    fail("an allowed guess was rejected: " + guess);
+                    break;
+                }
+                played.add(guess);
+                check(engine, result, answer, played, answers);
+            }
+        }
+    }
+
+    /**
+     * Compares the engine's candidates with a brute-force filter
+     *
+     * @param engine  the game being played
+     * @param result  the result of the latest guess
+     * @param answer  the game's answer
+     * @param played  every guess so far
+     * @param answers the common words in upper case
+     */
+    private static void check(WordleEngine engine, GuessResult result,
+            String answer, List<String> played, String[] answers) {
+        List<String> expected = new ArrayList<String>();
+        for (String candidate : answers) {
+            boolean fits = true;
+            for (String guess : played) {
+                if (FeedbackPatternTest.naiveScore(guess, candidate)
+                        != FeedbackPatternTest.naiveScore(guess, answer)) {
+                    fits = false;
+                    break;
+                }
+            }
+            if (fits) {
+                expected.add(candidate);
+            }
+        }
+
+        int[] packed = engine.getCandidates().toArray();
+        String[] actual = new String[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            actual[i] = PackedWords.decode(packed[i]);
+        }
+        String[] wanted = expected.toArray(new String[0]);
+        Arrays.sort(actual);
+        Arrays.sort(wanted);
+        if (!Arrays.equals(actual, wanted)) {
+            fail("answer " + answer + " after " + played + ": expected "
+                    + wanted.length + " candidates but got " + actual.length);
+        }
+        if (result.getRemaining() != wanted.length) {
+            fail("answer " + answer + " after " + played + ": " + wanted.length
+                    + " words remain but the result says " + result.getRemaining());
+        }
+        if (engine.getCandidates().size() != wanted.length) {
+            fail("answer " + answer + " after " + played + ": size() is "
+                    + engine.getCandidates().size() + ", expected " + wanted.length);
+        }
+        int last = played.size() - 1;
+        if (result.getPattern()
+                != FeedbackPatternTest.naiveScore(played.get(last), answer)) {
+            fail(played.get(last) + " vs " + answer + ": the engine showed "
+                    + FeedbackPattern.toString(result.getPattern()));
+        }
+    }
+
+    /**
+     * Starts a game with a chosen answer
+     *
+     * @param bank   the word bank
+     * @param answer the answer in upper case
+     * @return the new game
+     */
+    private static WordleEngine engineFor(WordleWordBank bank, String answer) {
+        return new WordleEngine(bank, PackedWords.encode(answer));
+    }
+
+    /**
+     * Upper-cases a list of words
+     *
+     * @param words the words
+     * @return a new array of the same words in upper case
+     */
+    private static String[] upperCase(String[] words) {
+        String[] upper = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            upper[i] = words[i].toUpperCase(Locale.ROOT);
+        }
+        return upper;
+    }
+
+    /**
+     * Reports a failed check
+     *
+     * @param message what went wrong
+     */
+    private static void fail(String message) {
+        failures++;
+        System.out.println("FAIL: " + message);
+    }
+}
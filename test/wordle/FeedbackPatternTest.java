@@ -0,0 +1,153 @@
+package wordle;
+
+import java.util.Locale;
+import java.util.Random;
+
+import wordle.model.FeedbackPattern;
+import wordle.model.PackedWords;
+import wordle.model.WordleWordBank;
+
+/**
+ * Checks FeedbackPattern.score against a slow, obviously correct scorer.
+ * There is no test framework in this project, so run main; it exits with
+ * status 1 if anything fails.
+ */
+public class FeedbackPatternTest {
+
+    /**
+     * the number of random guess/answer pairs to check
+     */
+    private static final int SAMPLES = 200_000;
+
+    /**
+     * the number of checks that have failed so far
+     */
+    private static int failures = 0;
+
+    /**
+     * Scores a guess the long way: greens first, then yellows left to right
+     * against the answer letters that are still unmatched
+     *
+     * @param guess  the guess, five upper case letters
+     * @param answer the answer, five upper case letters
+     * @return the pattern, from 0 to 242
+     */
+    static int naiveScore(String guess, String answer) {
+        int[] digits = new int[5];
+        boolean[] used = new boolean[5];
+        for (int i = 0; i < 5; i++) {
+            if (guess.charAt(i) == answer.charAt(i)) {
+                digits[i] = FeedbackPattern.GREEN;
+                used[i] = true;
+            }
+        }
+        for (int i = 0; i < 5; i++) {
+            if (digits[i] == FeedbackPattern.GREEN) {
+                continue;
+            }
+            for (int j = 0; j < 5; j++) {
+                if (!used[j] && guess.charAt(i) == answer.charAt(j)) {
+                    digits[i] = FeedbackPattern.YELLOW;
+                    used[j] = true;
+                    break;
+                }
+            }
+        }
+        int pattern = 0;
+        for (int i = 4; i >= 0; i--) {
+            pattern = pattern * 3 + digits[i];
+        }
+        return pattern;
+    }
+
+    /**
+     * Runs every check
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        testKnownPatterns();
+        testSample();
+        if (failures > 0) {
+            System.out.println(failures + " check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("FeedbackPatternTest passed");
+    }
+
+    /**
+     * Hand-checked cases, mostly repeated letters
+     */
+    private static void testKnownPatterns() {
+        expect("EERIE", "THREE", "Y-G-G");
+        expect("SPEED", "ABIDE", "--Y-Y");
+        expect("SPEED", "ERASE", "Y-YY-");
+        expect("ALLEY", "LLAMA", "YGY--");
+        expect("LLAMA", "ALLEY", "YGY--");
+        expect("ABBEY", "BABES", "YYGG-");
+        expect("GEESE", "EERIE", "-GY-G");
+        expect("EERIE", "GEESE", "YG--G");
+        expect("ROBOT", "FLOOR", "YY-G-");
+        expect("CRANE", "CRANE", "GGGGG");
+        expect("FUZZY", "CRANE", "-----");
+        if (FeedbackPattern.score("CRANE", "CRANE") != FeedbackPattern.ALL_GREEN) {
+            fail("a correct guess should score ALL_GREEN");
+        }
+    }
+
+    /**
+     * Compares the packed and String scorers with the naive one over a
+     * fixed random sample of guesses and answers
+     */
+    private static void testSample() {
+        WordleWordBank bank = new WordleWordBank();
+        String[] guesses = bank.getAllWords();
+        String[] answers = bank.getCommonWords();
+        Random random = new Random(20240601L);
+        for (int n = 0; n < SAMPLES; n++) {
+            String guess = guesses[random.nextInt(guesses.length)].toUpperCase(Locale.ROOT);
+            String answer = answers[random.nextInt(answers.length)].toUpperCase(Locale.ROOT);
+            int expected = naiveScore(guess, answer);
+            int packed = FeedbackPattern.score(PackedWords.encode(guess),
+                    PackedWords.encode(answer));
+            if (packed != expected) {
+                fail(guess + " vs " + answer + ": expected "
+                        + FeedbackPattern.toString(expected) + " but got "
+                        + FeedbackPattern.toString(packed));
+            }
+            if (FeedbackPattern.score(guess, answer) != expected) {
+                fail(guess + " vs " + answer + ": the String scorer disagrees");
+            }
+        }
+    }
+
+    /**
+     * Checks one guess against both scorers
+     *
+     * @param guess    the guess
+     * @param answer   the answer
+     * @param expected the pattern as written by FeedbackPattern.toString
+     */
+    private static void expect(String guess, String answer, String expected) {
+        String naive = FeedbackPattern.toString(naiveScore(guess, answer));
+        String actual = FeedbackPattern.toString(FeedbackPattern.score(guess, answer));
+        if (!naive.equals(expected)) {
+            fail("naive " + guess + " vs " + answer + ": expected " + expected
+                    + " but got " + naive);
+        }
+        if (!actual.equals(expected)) {
+            fail(guess + " vs " + answer + ": expected " + expected
+                    + " but got " + actual);
+        }
+    }
+
+    /**
+     * Reports a failed check
+     *
+     * @param message what went wrong
+     */
+    private static void fail(String message) {
+        failures++;
+        System.out.println("FAIL: " + message);
+    }
+}